@@ -0,0 +1,42 @@
+#!/usr/bin/env bash
+# Executa os benchmarks JMH (perfil benchmark) e guarda o resultado em JSON por commit;
+# com uma linha de base, compara os scores benchmark a benchmark.
+#
+# Requisitos: jq. Os benchmarks de H2 não precisam de banco; BookSearchBenchmark usa um PostgreSQL local.
+#
+# Uso: scripts/benchmark.sh [regex dos benchmarks] [resultado base]
+#   scripts/benchmark.sh 'BookService|BookRepository'
+#   scripts/benchmark.sh BookMapper target/jmh/4f1737d.json
+#   JMH_ARGS="-p rows=100000" scripts/benchmark.sh BookRepository
+set -euo pipefail
+
+INCLUDE=${1:-'Book(Mapper|Serialization|Service|Repository|Persistence|Error)Benchmark'}
+BASELINE=${2:-}
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT_DIR="$ROOT/target/jmh"
+REVISION=$(git -C "$ROOT" rev-parse --short HEAD)
+[[ -n "$(git -C "$ROOT" status --porcelain -- src pom.xml)" ]] && REVISION="$REVISION-dirty"
+RESULT="$OUT_DIR/$REVISION.json"
+
+command -v jq >/dev/null || { echo "jq não encontrado no PATH" >&2; exit 1; }
+mkdir -p "$OUT_DIR"
+
+(cd "$ROOT" && ./mvnw -q -B -Pbenchmark test-compile exec:exec \
+  -Djmh.include="$INCLUDE" -Djmh.result="$RESULT" -Djmh.args="${JMH_ARGS:-}")
+echo "Resultado: $RESULT"
+
+# Chave de comparação: método do benchmark mais os @Param usados
+summarize() {
+  jq -r '.[] | [(.benchmark | sub("^.*\\.benchmark\\."; "")) + ((.params // {}) | to_entries | map(" " + .key + "=" + .value) | join("")),
+                .primaryMetric.score, .primaryMetric.scoreUnit] | @tsv' "$1"
+}
+
+if [[ -z "$BASELINE" ]]; then
+  summarize "$RESULT" | awk -F'\t' '{printf "%-70s %14.3f %s\n", $1, $2, $3}'
+  exit 0
+fi
+
+printf '%-70s %14s %14s %9s\n' benchmark base atual 'variação'
+join -t $'\t' <(summarize "$BASELINE" | sort) <(summarize "$RESULT" | sort) \
+  | awk -F'\t' '{change = ($2 == 0) ? 0 : ($4 - $2) / $2 * 100;
+                 printf "%-70s %14.3f %14.3f %+8.1f%% %s\n", $1, $2, $4, change, $5}'
@@ -0,0 +1,103 @@
+#!/usr/bin/env bash
+# Compara vazão e latência p99 entre os modos de execução: threads de plataforma, threads
+# virtuais e a pilha reativa (WebFlux + R2DBC, perfil reactive), todos no mesmo banco local.
+#
+# Requisitos: PostgreSQL acessível com as variáveis DATABASE_* do application.yml, `hey`
+# (https://github.com/rakyll/hey), curl e o jar gerado por `./mvnw -DskipTests package`.
+#
+# Uso: scripts/load-test.sh [concorrência] [duração]
+#   CONCURRENCY=1000 DURATION=60s scripts/load-test.sh
+#   MODES="platform reactive" scripts/load-test.sh
+set -euo pipefail
+
+CONCURRENCY=${1:-${CONCURRENCY:-500}}
+DURATION=${2:-${DURATION:-30s}}
+PORT=${PORT:-8090}
+SEED=${SEED:-1000}
+MODES=${MODES:-platform virtual reactive}
+BASE="http://localhost:${PORT}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+command -v hey >/dev/null || { echo "hey não encontrado no PATH" >&2; exit 1; }
+JAR=$(ls "$ROOT"/target/library-api-*.jar 2>/dev/null | grep -v plain | head -1 || true)
+if [[ -z "$JAR" ]]; then
+  (cd "$ROOT" && ./mvnw -q -B -DskipTests package)
+  JAR=$(ls "$ROOT"/target/library-api-*.jar | grep -v plain | head -1)
+fi
+
+APP_PID=""
+stop_app() {
+  if [[ -n "$APP_PID" ]]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+  fi
+}
+trap stop_app EXIT
+
+start_app() {
+  local args=(--server.port="$PORT" --library.cache.books.enabled=false)
+  case "$1" in
+    virtual) args+=(--spring.threads.virtual.enabled=true) ;;
+    reactive) args+=(--spring.profiles.active=reactive) ;;
+  esac
+  # Cache desligado para que toda requisição chegue ao banco
+  java -jar "$JAR" "${args[@]}" > "$ROOT/target/load-test-$1.log" 2>&1 &
+  APP_PID=$!
+  for _ in $(seq 1 120); do
+    curl -fs "$BASE/actuator/health" >/dev/null 2>&1 && return 0
+    sleep 1
+  done
+  echo "A aplicação não subiu; veja target/load-test-$1.log" >&2
+  exit 1
+}
+
+seed() {
+  local prefix
+  prefix="load-$(date +%s)"
+  seq 1 "$SEED" | awk -v p="$prefix" '{printf "{\"title\":\"Livro %d\",\"author\":\"Autor %d\",\"isbn\":\"%s-%d\"}\n", $1, $1 % 97, p, $1}' \
+    | curl -fs -X POST "$BASE/api/books/bulk" -H 'Content-Type: application/x-ndjson' --data-binary @- >/dev/null
+}
+
+# Imprime "req/s p99(ms)" a partir da saída do hey
+run() {
+  local out rps p99
+  out=$(hey -z "$DURATION" -c "$CONCURRENCY" "$@")
+  rps=$(awk '/Requests\/sec:/ {print $2}' <<<"$out")
+  p99=$(awk '/99% in/ {printf "%.1f", $3 * 1000}' <<<"$out")
+  echo "$rps $p99"
+}
+
+RESULTS=()
+PEAK_THREADS=()
+SEEDED=false
+for mode in $MODES; do
+  echo ">> modo $mode (c=$CONCURRENCY, $DURATION)"
+  start_app "$mode"
+  # A importação em massa só existe na pilha servlet
+  if [[ "$SEEDED" == false && "$mode" != reactive ]]; then
+    seed
+    SEEDED=true
+  fi
+  ID=$(curl -fs "$BASE/api/books?size=1&count=NONE" | sed -E 's/.*"id":([0-9]+).*/\1/')
+  # Aquecimento do JIT e do pool de conexões
+  hey -z 5s -c 50 "$BASE/api/books/$ID" >/dev/null
+
+  RESULTS+=("$mode findById $(run "$BASE/api/books/$ID")")
+  RESULTS+=("$mode list $(run "$BASE/api/books?size=20&count=NONE")")
+  RESULTS+=("$mode search $(run -m POST -T application/json -d '{"title":"livro 1"}' "$BASE/api/books/search?size=20&count=NONE")")
+  PEAK_THREADS+=("$mode $(curl -fs "$BASE/actuator/metrics/jvm.threads.peak" | sed -E 's/.*"value":([0-9]+).*/\1/')")
+  stop_app
+done
+
+printf '\n%-10s %-10s %12s %10s\n' modo cenário 'req/s' 'p99(ms)'
+for line in "${RESULTS[@]}"; do
+  read -r mode scenario rps p99 <<<"$line"
+  printf '%-10s %-10s %12s %10s\n' "$mode" "$scenario" "$rps" "$p99"
+done
+
+printf '\n%-10s %14s\n' modo 'threads (pico)'
+for line in "${PEAK_THREADS[@]}"; do
+  read -r mode threads <<<"$line"
+  printf '%-10s %14s\n' "$mode" "$threads"
+done
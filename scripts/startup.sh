@@ -0,0 +1,84 @@
+#!/usr/bin/env bash
+# Mede o tempo até a aplicação responder UP em /actuator/health e a memória residente (RSS) logo
+# após a subida, em cada forma de empacotamento disponível em target/:
+#   jvm     jar executável comum          (./mvnw -DskipTests package)
+#   aot-cds jar extraído com AOT e CDS    (./mvnw -Paot -DskipTests package)
+#   native  imagem nativa GraalVM         (./mvnw -Pnative -DskipTests native:compile)
+#
+# Requisitos: PostgreSQL acessível com as variáveis DATABASE_* do application.yml, curl e ps.
+#
+# Uso: scripts/startup.sh [execuções por modo]
+#   RUNS=10 scripts/startup.sh
+#   MODES="jvm native" scripts/startup.sh
+set -euo pipefail
+
+RUNS=${1:-${RUNS:-5}}
+PORT=${PORT:-8091}
+MODES=${MODES:-jvm aot-cds native}
+BASE="http://localhost:${PORT}"
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+
+JAR=$(ls "$ROOT"/target/library-api-*.jar 2>/dev/null | grep -v plain | head -1 || true)
+CDS_JAR=$(ls "$ROOT"/target/cds/library-api-*.jar 2>/dev/null | head -1 || true)
+NATIVE="$ROOT/target/library-api"
+
+APP_PID=""
+stop_app() {
+  if [[ -n "$APP_PID" ]]; then
+    kill "$APP_PID" 2>/dev/null || true
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=""
+  fi
+}
+trap stop_app EXIT
+
+# Imprime o comando do modo ou nada quando o artefato não foi gerado
+command_for() {
+  case "$1" in
+    jvm) [[ -n "$JAR" ]] && echo "java -jar $JAR" ;;
+    aot-cds) [[ -n "$CDS_JAR" && -f "$ROOT/target/cds/application.jsa" ]] \
+      && echo "java -XX:SharedArchiveFile=$ROOT/target/cds/application.jsa -Dspring.aot.enabled=true -jar $CDS_JAR" ;;
+    native) [[ -x "$NATIVE" ]] && echo "$NATIVE" ;;
+  esac
+  return 0
+}
+
+now_ms() {
+  date +%s%3N
+}
+
+# Imprime "ms_até_UP rss_kb"
+measure() {
+  local start ready
+  start=$(now_ms)
+  # shellcheck disable=SC2086
+  $1 --server.port="$PORT" > "$ROOT/target/startup-$2.log" 2>&1 &
+  APP_PID=$!
+  until curl -fs "$BASE/actuator/health" 2>/dev/null | grep -q '"UP"'; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then
+      echo "A aplicação terminou; veja target/startup-$2.log" >&2
+      exit 1
+    fi
+    sleep 0.02
+  done
+  ready=$(now_ms)
+  echo "$((ready - start)) $(ps -o rss= -p "$APP_PID" | tr -d ' ')"
+  stop_app
+}
+
+printf '%-8s %10s %10s %10s\n' modo 'UP(ms)' 'min(ms)' 'RSS(MB)'
+for mode in $MODES; do
+  cmd=$(command_for "$mode")
+  if [[ -z "$cmd" ]]; then
+    printf '%-8s %s\n' "$mode" 'artefato não encontrado'
+    continue
+  fi
+  total=0; best=0; rss=0
+  for _ in $(seq 1 "$RUNS"); do
+    result=$(measure "$cmd" "$mode") || exit 1
+    read -r ms kb <<<"$result"
+    total=$((total + ms)); rss=$((rss + kb))
+    if (( best == 0 || ms < best )); then best=$ms; fi
+  done
+  printf '%-8s %10d %10d %10d\n' "$mode" $((total / RUNS)) "$best" $((rss / RUNS / 1024))
+done
@@ -0,0 +1,56 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import io.github.wiriswernek.library_api.exceptions.ApiErrors;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o caminho de erro de livro não encontrado: exceção com stack trace e corpo montado a cada
+ * resposta (caminho antigo) contra a {@link BusinessExcetion} sem pilha e o corpo pré-montado do {@link ErrosEnum}.
+ * A exceção é lançada {@code depth} chamadas abaixo do ponto de captura, como sob os filtros e proxies do Spring.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookErrorBenchmark {
+
+    @Param({"16", "128"})
+    public int depth;
+
+    @Benchmark
+    public ApiErrors stackTraceNotFound() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (RuntimeException e) {
+            return new ApiErrors(e.getMessage());
+        }
+    }
+
+    @Benchmark
+    public ApiErrors stacklessNotFound() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (BusinessExcetion e) {
+            return e.getErro().getApiErrors();
+        }
+    }
+
+    private static void throwAt(int depth, boolean stackTrace) {
+        if (depth > 0) {
+            throwAt(depth - 1, stackTrace);
+            return;
+        }
+        if (stackTrace) {
+            throw new RuntimeException(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
+        }
+        throw new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO);
+    }
+}
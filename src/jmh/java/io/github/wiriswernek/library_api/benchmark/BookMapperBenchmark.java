@@ -0,0 +1,69 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import org.modelmapper.ModelMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara o custo de conversão BookEntity -> BookDTO entre o ModelMapper (caminho antigo) e o BookMapper.
+ * O modo AverageTime por elemento usa o operationsPerInvocation igual ao tamanho da página.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookMapperBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    private final ModelMapper modelMapper = new ModelMapper();
+
+    private final BookMapper bookMapper = new BookMapper();
+
+    private BookEntity entity;
+
+    private Page<BookEntity> page;
+
+    @Setup
+    public void setUp() {
+        entity = BookEntity.builder().id(1L).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        List<BookEntity> content = new ArrayList<>(PAGE_SIZE);
+        for (long i = 0; i < PAGE_SIZE; i++) {
+            content.add(BookEntity.builder().id(i).isbn("isbn-" + i).title("Livro " + i).author("Autor " + i).build());
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, PAGE_SIZE), 1_000_000);
+    }
+
+    @Benchmark
+    public BookDTO modelMapperSingle() {
+        return modelMapper.map(entity, BookDTO.class);
+    }
+
+    @Benchmark
+    public BookDTO bookMapperSingle() {
+        return bookMapper.toDTO(entity);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public List<BookDTO> modelMapperPage() {
+        return page.getContent().stream().map(book -> modelMapper.map(book, BookDTO.class)).toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(PAGE_SIZE)
+    public Page<BookDTO> bookMapperPage() {
+        return bookMapper.toDTOPage(page);
+    }
+}
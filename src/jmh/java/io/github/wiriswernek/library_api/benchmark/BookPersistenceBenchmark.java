@@ -0,0 +1,126 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listagem de uma página até os bytes da resposta, com a transação cobrindo também a conversão e a
+ * serialização (como no Open Session in View) ou só a consulta, em transação somente leitura ou não,
+ * e com a página carregada como entidades ou projetada direto em DTOs.
+ * O contador auxiliar connectionHeldMicros é o tempo médio com a conexão emprestada por requisição;
+ * para a alocação por operação, rode com {@code JMH_ARGS="-prof gc"} e compare gc.alloc.rate.norm.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookPersistenceBenchmark {
+
+    @Param("10000")
+    public int rows;
+
+    @Param({"20", "200"})
+    public int size;
+
+    @Param({"false", "true"})
+    public boolean readOnly;
+
+    private EmbeddedLibrary library;
+
+    private IBookRepository bookRepository;
+
+    private BookMapper bookMapper;
+
+    private TransactionTemplate transactionTemplate;
+
+    private ObjectWriter writer;
+
+    private Pageable page;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class ConnectionHold {
+
+        private long heldNanos;
+
+        private long requests;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            heldNanos = 0;
+            requests = 0;
+        }
+
+        public double connectionHeldMicros() {
+            return requests == 0 ? 0 : heldNanos / 1_000.0 / requests;
+        }
+
+        void record(long startNanos) {
+            heldNanos += System.nanoTime() - startNanos;
+            requests++;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        library = EmbeddedLibrary.start(rows);
+        bookRepository = library.getBean(IBookRepository.class);
+        bookMapper = library.getBean(BookMapper.class);
+        transactionTemplate = new TransactionTemplate(library.getBean(PlatformTransactionManager.class));
+        transactionTemplate.setReadOnly(readOnly);
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+        page = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        library.close();
+    }
+
+    @Benchmark
+    public byte[] openSessionInView(ConnectionHold hold) {
+        long start = System.nanoTime();
+        byte[] body = transactionTemplate.execute(status -> serialize(bookMapper.toDTOPage(bookRepository.findAll(page))));
+        hold.record(start);
+        return body;
+    }
+
+    @Benchmark
+    public byte[] transactionPerQuery(ConnectionHold hold) {
+        long start = System.nanoTime();
+        Page<BookEntity> books = transactionTemplate.execute(status -> bookRepository.findAll(page));
+        hold.record(start);
+        return serialize(bookMapper.toDTOPage(books));
+    }
+
+    @Benchmark
+    public byte[] projection(ConnectionHold hold) {
+        long start = System.nanoTime();
+        Page<BookDTO> books = transactionTemplate.execute(status -> bookRepository.findPageBy(page));
+        hold.record(start);
+        return serialize(books);
+    }
+
+    private byte[] serialize(Page<BookDTO> books) {
+        try {
+            return writer.writeValueAsBytes(books);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
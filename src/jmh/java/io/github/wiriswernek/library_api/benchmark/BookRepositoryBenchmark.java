@@ -0,0 +1,107 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.ExampleMatcher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Consultas de {@link IBookRepository} contra o H2 embutido com {@code rows} livros.
+ * As páginas são lidas no fim da tabela (offset alto) para expor o custo de OFFSET frente à busca por chave.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookRepositoryBenchmark {
+
+    private static final int PAGE_SIZE = 10;
+
+    @Param({"10000", "100000"})
+    public int rows;
+
+    private EmbeddedLibrary library;
+
+    private IBookRepository repository;
+
+    private Pageable deepPage;
+
+    private Example<BookEntity> example;
+
+    private Set<String> isbns;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        library = EmbeddedLibrary.start(rows);
+        repository = library.getBean(IBookRepository.class);
+        deepPage = PageRequest.of(rows / PAGE_SIZE - 1, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id"));
+        example = Example.of(BookEntity.builder().title("aventura").build(), ExampleMatcher.matching()
+                .withIgnoreCase()
+                .withIgnoreNullValues()
+                .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING));
+        isbns = IntStream.range(0, 1000).mapToObj(i -> "isbn-" + (i * 7 + 1)).collect(Collectors.toSet());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        library.close();
+    }
+
+    @Benchmark
+    public Optional<BookEntity> findById() {
+        return repository.findById((long) ThreadLocalRandom.current().nextInt(1, rows + 1));
+    }
+
+    @Benchmark
+    public Page<BookEntity> findAllPageWithCount() {
+        return repository.findAll(deepPage);
+    }
+
+    /**
+     * Mesma página de {@link #findAllPageWithCount()}, projetada em DTOs sem hidratar entidades.
+     */
+    @Benchmark
+    public Page<BookDTO> findPageProjection() {
+        return repository.findPageBy(deepPage);
+    }
+
+    @Benchmark
+    public Slice<BookDTO> findAllSliceWithoutCount() {
+        return repository.findAllBy(deepPage);
+    }
+
+    @Benchmark
+    public List<BookDTO> findByIdLessThanKeyset() {
+        return repository.findByIdLessThanOrderByIdDesc((long) PAGE_SIZE + 1, PageRequest.ofSize(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public Slice<BookDTO> findSliceByExample() {
+        return repository.findSlice(example, PageRequest.of(0, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "id")));
+    }
+
+    /**
+     * Uma consulta IN com 1000 ISBNs, como cada lote da importação em massa.
+     */
+    @Benchmark
+    public Set<String> findExistingIsbns() {
+        return repository.findExistingIsbns(isbns);
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latência da busca por trecho de título/autor em um PostgreSQL local: o LIKE gerado pelo Query by Example
+ * sobre uma tabela sem índice contra a consulta ranqueada da busca por trigramas sobre uma tabela com os
+ * índices da migração V2. As tabelas são populadas uma única vez com {@code rows} registros.
+ * <p>
+ * Conexão: -Dbenchmark.url, -Dbenchmark.user e -Dbenchmark.password (padrão: banco library local).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookSearchBenchmark {
+
+    private static final String EXAMPLE_SQL = "SELECT b.* FROM bench_book_plain b"
+            + " WHERE lower(b.title) LIKE ? ESCAPE '\\' AND lower(b.author) LIKE ? ESCAPE '\\'"
+            + " ORDER BY b.id DESC LIMIT 10";
+
+    private static final String TRIGRAM_SQL = "SELECT b.* FROM bench_book_trgm b"
+            + " WHERE lower(b.title) LIKE ? ESCAPE '\\' AND lower(b.author) LIKE ? ESCAPE '\\'"
+            + " ORDER BY (word_similarity(?, lower(b.title)) + word_similarity(?, lower(b.author))) DESC, b.id DESC LIMIT 10";
+
+    @Param("1000000")
+    public int rows;
+
+    @Param({"aventura", "livro 4242"})
+    public String title;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.url", "jdbc:postgresql://localhost:5432/library"),
+                System.getProperty("benchmark.user", "postgres"),
+                System.getProperty("benchmark.password", "postgres"));
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm");
+            seed(statement, "bench_book_plain");
+            if (seed(statement, "bench_book_trgm")) {
+                statement.execute("CREATE INDEX ON bench_book_trgm USING gin (lower(title) gin_trgm_ops)");
+                statement.execute("CREATE INDEX ON bench_book_trgm USING gin (lower(author) gin_trgm_ops)");
+            }
+            statement.execute("ANALYZE bench_book_plain");
+            statement.execute("ANALYZE bench_book_trgm");
+        }
+    }
+
+    private boolean seed(Statement statement, String table) throws SQLException {
+        try (ResultSet result = statement.executeQuery("SELECT count(*) FROM " + table)) {
+            if (result.next() && result.getLong(1) == rows) {
+                return false;
+            }
+        } catch (SQLException e) {
+            // tabela ainda não existe
+        }
+        statement.execute("DROP TABLE IF EXISTS " + table);
+        statement.execute("CREATE TABLE " + table + " (id BIGINT PRIMARY KEY, title VARCHAR(255), author VARCHAR(255), isbn VARCHAR(255))");
+        statement.execute("INSERT INTO " + table + " SELECT i, 'Livro ' || i || CASE WHEN i % 1000 = 0 THEN ' aventura' ELSE '' END,"
+                + " 'Autor ' || (i % 5000), md5(i::text) FROM generate_series(1, " + rows + ") AS i");
+        return true;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int exampleContaining() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(EXAMPLE_SQL)) {
+            statement.setString(1, "%" + title + "%");
+            statement.setString(2, "%autor%");
+            return drain(statement);
+        }
+    }
+
+    @Benchmark
+    public int trigramRanked() throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(TRIGRAM_SQL)) {
+            statement.setString(1, "%" + title + "%");
+            statement.setString(2, "%autor%");
+            statement.setString(3, title);
+            statement.setString(4, "autor");
+            return drain(statement);
+        }
+    }
+
+    private static int drain(PreparedStatement statement) throws SQLException {
+        int count = 0;
+        try (ResultSet result = statement.executeQuery()) {
+            while (result.next()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
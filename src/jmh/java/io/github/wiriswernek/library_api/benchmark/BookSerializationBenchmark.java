@@ -0,0 +1,63 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson das respostas de listagem do controller: Page&lt;BookDTO&gt; (com total) e
+ * Slice&lt;BookDTO&gt; (sem total), com o ObjectMapper configurado como o do Spring MVC.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookSerializationBenchmark {
+
+    @Param({"10", "100"})
+    public int size;
+
+    private ObjectWriter writer;
+
+    private Page<BookDTO> page;
+
+    private Slice<BookDTO> slice;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writer();
+
+        List<BookDTO> content = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            content.add(new BookDTO(i, "Livro " + i, "Autor " + i, "isbn-" + i));
+        }
+        PageRequest pageable = PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"));
+        page = new PageImpl<>(content, pageable, 1_000_000);
+        slice = new SliceImpl<>(content, pageable, true);
+    }
+
+    @Benchmark
+    public byte[] page() throws Exception {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] slice() throws Exception {
+        return writer.writeValueAsBytes(slice);
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.service.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caminhos quentes de {@code BookServiceImp} sobre o H2 embutido com {@code rows} livros, com e sem o
+ * cache de livros por ID. O save insere ISBNs novos a cada chamada, então a tabela cresce durante a medição.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookServiceBenchmark {
+
+    private static final Pageable FIRST_PAGE = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "id"));
+
+    @Param("10000")
+    public int rows;
+
+    @Param({"false", "true"})
+    public boolean cache;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private EmbeddedLibrary library;
+
+    private BookService bookService;
+
+    private BookRequest filter;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        library = EmbeddedLibrary.start(rows, "library.cache.books.enabled=" + cache);
+        bookService = library.getBean(BookService.class);
+        filter = new BookRequest("aventura", null, null);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        library.close();
+    }
+
+    @Benchmark
+    public BookEntity save() throws Exception {
+        long next = sequence.incrementAndGet();
+        return bookService.save(new BookRequest("Livro novo " + next, "Autor", "bench-" + cache + "-" + next));
+    }
+
+    @Benchmark
+    public BookEntity findById() throws Exception {
+        // Conjunto quente de 1000 IDs, como um catálogo com livros mais acessados
+        return bookService.findById((long) ThreadLocalRandom.current().nextInt(1, Math.min(rows, 1000) + 1));
+    }
+
+    @Benchmark
+    public ErrosEnum findMissingById() throws Exception {
+        // IDs acima da massa inicial, como varreduras por IDs inexistentes
+        try {
+            bookService.findById(Long.MAX_VALUE - ThreadLocalRandom.current().nextInt(1000));
+            return null;
+        } catch (BusinessExcetion e) {
+            return e.getErro();
+        }
+    }
+
+    @Benchmark
+    public Slice<BookDTO> searchWithoutCount() {
+        return bookService.search(filter, FIRST_PAGE, CountModeEnum.NONE);
+    }
+
+    @Benchmark
+    public Slice<BookDTO> searchWithCount() {
+        return bookService.search(filter, FIRST_PAGE, CountModeEnum.EXACT);
+    }
+}
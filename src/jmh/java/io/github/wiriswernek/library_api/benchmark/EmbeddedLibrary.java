@@ -0,0 +1,64 @@
+package io.github.wiriswernek.library_api.benchmark;
+
+import io.github.wiriswernek.library_api.LibraryApiApplication;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sobe a aplicação sem servidor web sobre um H2 em memória (perfil test) e popula a tabela com
+ * {@code rows} livros: título "Livro i" (com " aventura" a cada 1000), autor "Autor i % 5000" e ISBN "isbn-i".
+ */
+final class EmbeddedLibrary implements AutoCloseable {
+
+    private static final int SEED_BATCH = 1000;
+
+    private final ConfigurableApplicationContext context;
+
+    private EmbeddedLibrary(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    static EmbeddedLibrary start(int rows, String... properties) {
+        List<String> defaults = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "logging.level.root=WARN"));
+        defaults.addAll(List.of(properties));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(LibraryApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .properties(defaults.toArray(String[]::new))
+                .run();
+        EmbeddedLibrary library = new EmbeddedLibrary(context);
+        library.seed(rows);
+        return library;
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    private void seed(int rows) {
+        IBookRepository repository = getBean(IBookRepository.class);
+        List<BookRequest> batch = new ArrayList<>(SEED_BATCH);
+        for (int i = 1; i <= rows; i++) {
+            String title = "Livro " + i + (i % 1000 == 0 ? " aventura" : "");
+            batch.add(new BookRequest(title, "Autor " + (i % 5000), "isbn-" + i));
+            if (batch.size() == SEED_BATCH || i == rows) {
+                repository.insertAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
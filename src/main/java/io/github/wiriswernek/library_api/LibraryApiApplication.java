@@ -1,15 +1,22 @@
 package io.github.wiriswernek.library_api;
 
+import io.github.wiriswernek.library_api.config.NativeRuntimeHints;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
 import io.swagger.v3.oas.annotations.info.License;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+@ImportRuntimeHints(NativeRuntimeHints.class)
 @OpenAPIDefinition(
 		info = @Info(
 				title = "Library API",
@@ -28,8 +35,8 @@ import org.springframework.context.annotation.Bean;
 )
 public class LibraryApiApplication {
 	@Bean
-	public ModelMapper modelMapper() {
-		return new ModelMapper();
+	public BookMapper bookMapper() {
+		return new BookMapper();
 	}
 
 	public static void main(String[] args) {
@@ -2,34 +2,77 @@ package io.github.wiriswernek.library_api.api;
 
 import io.github.wiriswernek.library_api.exceptions.ApiErrors;
 import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.limit.ConcurrencyBudget;
+import io.github.wiriswernek.library_api.limit.ConcurrencyLimitInterceptor;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
+import io.github.wiriswernek.library_api.model.dto.BookBatchDTO;
+import io.github.wiriswernek.library_api.model.dto.BookChangesDTO;
+import io.github.wiriswernek.library_api.model.dto.BookCursorPageDTO;
 import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookImportResultDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.enums.ConcurrencyBudgetEnum;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.record.BookCursor;
 import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.service.BookChangeService;
+import io.github.wiriswernek.library_api.service.BookExportService;
+import io.github.wiriswernek.library_api.service.BookImportService;
 import io.github.wiriswernek.library_api.service.BookService;
+import io.github.wiriswernek.library_api.utils.BookETags;
 import jakarta.validation.Valid;
-import org.modelmapper.ModelMapper;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.stream.Collectors;
+import java.io.InputStream;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/books")
 @CrossOrigin
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class BookController {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
+    private static final int MAX_BATCH_IDS = 1000;
+
     @Autowired
     private BookService bookService;
 
     @Autowired
-    private ModelMapper modelMapper;
+    private BookMapper bookMapper;
+
+    @Autowired
+    private BookImportService bookImportService;
+
+    @Autowired
+    private BookExportService bookExportService;
+
+    @Autowired
+    private BookChangeService bookChangeService;
+
+    @Autowired
+    private BookMetrics bookMetrics;
 
     public BookController(BookService bookService) {
         this.bookService = bookService;
@@ -43,9 +86,26 @@ public class BookController {
     }
 
     @ExceptionHandler(BusinessExcetion.class)
-    @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
-    public ApiErrors handleBusinessExceptions(BusinessExcetion exception) {
-        return new ApiErrors(exception.getMessage());
+    public ResponseEntity<ApiErrors> handleBusinessExceptions(BusinessExcetion exception) {
+        ErrosEnum erro = exception.getErro();
+        bookMetrics.recordError(erro);
+        if (erro == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(new ApiErrors(exception.getMessage()));
+        }
+        return ResponseEntity.status(erro.getStatus()).body(erro.getApiErrors());
+    }
+
+    /**
+     * Tempo esgotado esperando conexão do pool (ou do limite das threads virtuais): o servidor está
+     * sobrecarregado, não a requisição errada.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+    public ResponseEntity<ApiErrors> handleUnavailableExceptions(Exception exception) {
+        ErrosEnum erro = ErrosEnum.SERVICO_SOBRECARREGADO;
+        bookMetrics.recordError(erro);
+        return ResponseEntity.status(erro.getStatus())
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ConcurrencyLimitInterceptor.RETRY_AFTER_SECONDS))
+                .body(erro.getApiErrors());
     }
 
     @ExceptionHandler(Exception.class)
@@ -54,47 +114,172 @@ public class BookController {
         return new ApiErrors(exception.getMessage());
     }
 
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.WRITE)
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public BookDTO create(@RequestBody @Valid BookRequest book) throws Exception {
         var entity = bookService.save(book);
-        return modelMapper.map(entity, BookDTO.class);
+        return bookMapper.toDTO(entity);
     }
 
+    /**
+     * Responde com ETag; com If-None-Match igual à versão atual retorna 304 sem converter nem serializar o livro.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
     @GetMapping("/{id}")
-    @ResponseStatus(HttpStatus.OK)
-    public BookDTO getById(@PathVariable Long id) throws Exception {
+    public ResponseEntity<BookDTO> getById(@PathVariable Long id, WebRequest request) throws Exception {
         var entity = bookService.findById(id);
-        return modelMapper.map(entity, BookDTO.class);
+        var etag = BookETags.of(entity);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(bookMapper.toDTO(entity));
     }
 
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
     @GetMapping
+    public ResponseEntity<Slice<BookDTO>> getAll(@PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page,
+                                                 @RequestParam(defaultValue = "EXACT") CountModeEnum count, WebRequest request) throws Exception {
+        var books = bookService.findAll(page, count);
+        var etag = BookETags.ofPage(books);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(books);
+    }
+
+    /**
+     * Paginação por chave: {@code after} vazio retorna a primeira página e cada resposta traz o cursor da próxima.
+     * Não executa count(*) e o custo não cresce com a profundidade da página.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
+    @GetMapping(params = {"after", "!ids"})
+    public ResponseEntity<BookCursorPageDTO> getAllAfter(@RequestParam String after, @RequestParam(defaultValue = "10") int size,
+                                                         WebRequest request) throws Exception {
+        var cursor = BookCursor.decode(after);
+        var pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        var books = bookService.findAllAfter(cursor == null ? null : cursor.lastId(), pageSize);
+        var etag = BookETags.ofPage(books);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+
+        var content = books.getContent();
+        var nextCursor = books.hasNext() ? new BookCursor(content.get(content.size() - 1).getId()).encode() : null;
+        return ResponseEntity.ok().eTag(etag).body(new BookCursorPageDTO(content, pageSize, nextCursor));
+    }
+
+    /**
+     * Busca vários livros em uma única chamada ({@code ?ids=1,2,3}), na ordem pedida.
+     * IDs inexistentes voltam em {@code missing} sem falhar a requisição.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
+    @GetMapping(params = {"ids", "!after"})
+    @ResponseStatus(HttpStatus.OK)
+    public BookBatchDTO getAllById(@RequestParam List<Long> ids) throws Exception {
+        return bookMapper.toBatchDTO(bookService.findAllById(checkBatchSize(ids)));
+    }
+
+    /**
+     * {@code ids} e {@code after} selecionam consultas diferentes; juntos seriam ambíguos.
+     */
+    @GetMapping(params = {"ids", "after"})
+    public BookBatchDTO getAllByIdAfter() {
+        throw new BusinessExcetion(ErrosEnum.PARAMETROS_INCOMPATIVEIS);
+    }
+
+    /**
+     * Mesmo que {@code GET ?ids=}, com os IDs no corpo (array JSON) para listas que não cabem na URL.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.OK)
+    public BookBatchDTO getAllByIdBatch(@RequestBody List<Long> ids) throws Exception {
+        return bookMapper.toBatchDTO(bookService.findAllById(checkBatchSize(ids)));
+    }
+
+    /**
+     * Importação em massa a partir de um array JSON, NDJSON ou CSV (com cabeçalho title,author,isbn).
+     * O corpo é lido em fluxo; linhas inválidas ou com ISBN já cadastrado são listadas no relatório sem interromper as demais.
+     */
+    @PostMapping(value = "bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, "text/csv"})
     @ResponseStatus(HttpStatus.OK)
-    public Page<BookDTO> getAll(@PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page) throws Exception {
-        var books = bookService.findAll(page);
+    public BookImportResultDTO bulkImport(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws Exception {
+        var format = BookFormatEnum.fromMediaType(MediaType.parseMediaType(contentType));
+        return bookImportService.importBooks(format, body);
+    }
 
-        var listBookDTO = books.getContent().stream().map((book) -> this.modelMapper.map(book, BookDTO.class)).collect(Collectors.toList());
-        return new PageImpl<BookDTO>(listBookDTO, page, books.getTotalElements());
+    /**
+     * Exporta o catálogo inteiro em JSON, NDJSON (padrão) ou CSV, escrevendo conforme as linhas chegam do banco.
+     */
+    @GetMapping("export")
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(defaultValue = "NDJSON") BookFormatEnum format) {
+        StreamingResponseBody body = output -> bookExportService.export(format, output);
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"books.%s\"".formatted(format.name().toLowerCase()))
+                .body(body);
     }
 
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.WRITE)
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void delete(@PathVariable Long id) throws Exception {
         bookService.delete(id);
     }
 
+    /**
+     * Com If-Match ({@code "id:versão"} recebido no ETag) a atualização é condicional: se o livro mudou
+     * desde então responde 412, sem leitura prévia. A resposta traz o ETag da nova versão.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.WRITE)
     @PutMapping("/{id}")
-    @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void update(@PathVariable Long id, @RequestBody @Valid BookRequest book) throws Exception {
-        bookService.update(id, book);
+    public ResponseEntity<Void> update(@PathVariable Long id, @RequestBody @Valid BookRequest book,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) throws Exception {
+        var expectedVersion = BookETags.expectedVersion(ifMatch, id);
+        if (expectedVersion == null) {
+            bookService.update(id, book);
+            return ResponseEntity.noContent().build();
+        }
+        var updated = bookService.update(id, book, expectedVersion);
+        return ResponseEntity.noContent().eTag(BookETags.of(updated)).build();
+    }
+
+    /**
+     * Feed de alterações para espelhar o catálogo: {@code since} vazio começa do início e cada resposta traz
+     * o token da próxima chamada, mesmo sem alterações. Exclusões chegam com {@code deleted}; um token mais
+     * antigo que a retenção das lápides responde 410 e o cliente recomeça sem {@code since}.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
+    @GetMapping("changes")
+    @ResponseStatus(HttpStatus.OK)
+    public BookChangesDTO getChanges(@RequestParam(required = false) String since, @RequestParam(defaultValue = "100") int size) {
+        return bookMapper.toChangesDTO(bookChangeService.findChanges(BookChangeToken.decode(since), size));
     }
 
+    /**
+     * Autocomplete de título e autor ({@code ?q=avent}), ignorando acentos e maiúsculas e casando o início
+     * de qualquer palavra. Responde do índice em memória, sem consultar o banco.
+     */
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
+    @GetMapping("suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public List<BookSuggestionDTO> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(q, limit);
+    }
+
+    @ConcurrencyBudget(ConcurrencyBudgetEnum.READ)
     @PostMapping("search")
     @ResponseStatus(HttpStatus.OK)
-    public Page<BookDTO> search(@RequestBody BookRequest filter, @PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page) throws Exception {
-        var books = bookService.search(filter, page);
+    public Slice<BookDTO> search(@RequestBody BookRequest filter, @PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page,
+                                 @RequestParam(defaultValue = "EXACT") CountModeEnum count) throws Exception {
+        return bookService.search(filter, page, count);
+    }
 
-        var listBookDTO = books.getContent().stream().map((book) -> this.modelMapper.map(book, BookDTO.class)).collect(Collectors.toList());
-        return new PageImpl<BookDTO>(listBookDTO, page, books.getTotalElements());
+    private static List<Long> checkBatchSize(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            throw new BusinessExcetion(ErrosEnum.LIMITE_DE_IDS_EXCEDIDO);
+        }
+        return ids;
     }
 }
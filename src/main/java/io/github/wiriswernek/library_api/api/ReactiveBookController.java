@@ -0,0 +1,194 @@
+package io.github.wiriswernek.library_api.api;
+
+import io.github.wiriswernek.library_api.exceptions.ApiErrors;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
+import io.github.wiriswernek.library_api.model.dto.BookBatchDTO;
+import io.github.wiriswernek.library_api.model.dto.BookChangesDTO;
+import io.github.wiriswernek.library_api.model.dto.BookCursorPageDTO;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.record.BookCursor;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.service.BookChangeService;
+import io.github.wiriswernek.library_api.service.ReactiveBookService;
+import io.github.wiriswernek.library_api.utils.BookETags;
+import jakarta.validation.Valid;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Versão WebFlux de {@link BookController}, ativa com o perfil reactive.
+ * Mesmas rotas, validações e formato de erro, inclusive o autocomplete e o feed de alterações; importação e
+ * exportação em massa continuam só na pilha servlet.
+ */
+@RestController
+@RequestMapping("/api/books")
+@CrossOrigin
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookController {
+
+    private static final int MAX_CURSOR_PAGE_SIZE = 2000;
+
+    private static final int MAX_BATCH_IDS = 1000;
+
+    private final ReactiveBookService bookService;
+
+    private final BookMapper bookMapper;
+
+    private final BookMetrics bookMetrics;
+
+    private final BookChangeService bookChangeService;
+
+    public ReactiveBookController(ReactiveBookService bookService, BookMapper bookMapper, BookMetrics bookMetrics,
+                                  BookChangeService bookChangeService) {
+        this.bookService = bookService;
+        this.bookMapper = bookMapper;
+        this.bookMetrics = bookMetrics;
+        this.bookChangeService = bookChangeService;
+    }
+
+    @ExceptionHandler(WebExchangeBindException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ApiErrors handleValidationsExceptions(WebExchangeBindException exception) {
+        return new ApiErrors(exception.getBindingResult());
+    }
+
+    @ExceptionHandler(BusinessExcetion.class)
+    public ResponseEntity<ApiErrors> handleBusinessExceptions(BusinessExcetion exception) {
+        ErrosEnum erro = exception.getErro();
+        bookMetrics.recordError(erro);
+        if (erro == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).body(new ApiErrors(exception.getMessage()));
+        }
+        return ResponseEntity.status(erro.getStatus()).body(erro.getApiErrors());
+    }
+
+    @ExceptionHandler(Exception.class)
+    @ResponseStatus(HttpStatus.NOT_ACCEPTABLE)
+    public ApiErrors handleGenericExceptions(Exception exception) {
+        return new ApiErrors(exception.getMessage());
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<BookDTO> create(@RequestBody @Valid BookRequest book) {
+        return bookService.save(book).map(bookMapper::toDTO);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<BookDTO>> getById(@PathVariable Long id, ServerWebExchange exchange) {
+        return bookService.findById(id).mapNotNull(entity -> {
+            var etag = BookETags.of(entity);
+            if (exchange.checkNotModified(etag)) {
+                return null;
+            }
+            return ResponseEntity.ok().eTag(etag).body(bookMapper.toDTO(entity));
+        });
+    }
+
+    @GetMapping
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<Slice<BookDTO>> getAll(@PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page,
+                                       @RequestParam(defaultValue = "EXACT") CountModeEnum count) {
+        return bookService.findAll(page, count).map(bookMapper::toDTOSlice);
+    }
+
+    @GetMapping(params = {"after", "!ids"})
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BookCursorPageDTO> getAllAfter(@RequestParam String after, @RequestParam(defaultValue = "10") int size) {
+        var cursor = BookCursor.decode(after);
+        var pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        return bookService.findAllAfter(cursor == null ? null : cursor.lastId(), pageSize).map(books -> {
+            var content = books.getContent().stream().map(bookMapper::toDTO).toList();
+            var nextCursor = books.hasNext() ? new BookCursor(content.get(content.size() - 1).getId()).encode() : null;
+            return new BookCursorPageDTO(content, pageSize, nextCursor);
+        });
+    }
+
+    @GetMapping(params = {"ids", "!after"})
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BookBatchDTO> getAllById(@RequestParam List<Long> ids) {
+        return findAllById(ids);
+    }
+
+    @GetMapping(params = {"ids", "after"})
+    public Mono<BookBatchDTO> getAllByIdAfter() {
+        return Mono.error(new BusinessExcetion(ErrosEnum.PARAMETROS_INCOMPATIVEIS));
+    }
+
+    @PostMapping("batch")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BookBatchDTO> getAllByIdBatch(@RequestBody List<Long> ids) {
+        return findAllById(ids);
+    }
+
+    @DeleteMapping("/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long id) {
+        return bookService.delete(id);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<ResponseEntity<Void>> update(@PathVariable Long id, @RequestBody @Valid BookRequest book,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        var expectedVersion = BookETags.expectedVersion(ifMatch, id);
+        if (expectedVersion == null) {
+            return bookService.update(id, book).thenReturn(ResponseEntity.noContent().build());
+        }
+        return bookService.update(id, book, expectedVersion)
+                .<ResponseEntity<Void>>map(updated -> ResponseEntity.noContent().eTag(BookETags.of(updated)).build());
+    }
+
+    @PostMapping("search")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<Slice<BookDTO>> search(@RequestBody BookRequest filter, @PageableDefault(sort = "id", direction = Sort.Direction.DESC, page = 0, size = 10) Pageable page,
+                                       @RequestParam(defaultValue = "EXACT") CountModeEnum count) {
+        return bookService.search(filter, page, count).map(bookMapper::toDTOSlice);
+    }
+
+    /**
+     * Feed de alterações de {@link BookController#getChanges}. As posições vêm do primário por JDBC, então a
+     * consulta roda no boundedElastic, como as contagens aproximadas.
+     */
+    @GetMapping("changes")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<BookChangesDTO> getChanges(@RequestParam(required = false) String since, @RequestParam(defaultValue = "100") int size) {
+        return Mono.fromCallable(() -> bookChangeService.findChanges(BookChangeToken.decode(since), size))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(bookMapper::toChangesDTO);
+    }
+
+    /**
+     * Autocomplete de título e autor, do mesmo índice em memória de {@link BookController#suggest}.
+     */
+    @GetMapping("suggest")
+    @ResponseStatus(HttpStatus.OK)
+    public Mono<List<BookSuggestionDTO>> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return bookService.suggest(q, limit);
+    }
+
+    private Mono<BookBatchDTO> findAllById(List<Long> ids) {
+        if (ids.size() > MAX_BATCH_IDS) {
+            return Mono.error(new BusinessExcetion(ErrosEnum.LIMITE_DE_IDS_EXCEDIDO));
+        }
+        return bookService.findAllById(ids).map(bookMapper::toBatchDTO);
+    }
+}
@@ -0,0 +1,210 @@
+package io.github.wiriswernek.library_api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.github.wiriswernek.library_api.config.BookCacheProperties;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.utils.SingleFlight;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Cache em memória de livros por ID, limitado por tamanho com a política W-TinyLFU do Caffeine.
+ * Entradas de livro inexistente (cache negativo) têm validade própria, normalmente bem menor.
+ * As métricas de acerto, falha e despejo são publicadas como cache.* com a tag cache=books.
+ * Uma carga nunca devolve ao cache um valor lido antes de uma invalidação concorrente: veja
+ * {@link #get(Long, Function)} e {@link #getAll(Collection, Function)}.
+ */
+@Component
+public class BookCache implements MeterBinder {
+
+    public static final String NAME = "books";
+
+    /**
+     * Entrada do cache; {@code book} nulo indica que o livro não existe.
+     */
+    public record CachedBook(BookEntity book) {
+        public boolean exists() {
+            return book != null;
+        }
+    }
+
+    private static final CachedBook MISSING = new CachedBook(null);
+
+    private final BookCacheProperties properties;
+
+    private final Cache<Long, CachedBook> cache;
+
+    /**
+     * Incrementado antes de cada invalidação; ver {@link #putLoaded(Long, BookEntity, long)}.
+     */
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final SingleFlight<Long, CachedBook> loads = new SingleFlight<>();
+
+    public BookCache(BookCacheProperties properties) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maximumSize())
+                .expireAfter(new CachedBookExpiry(properties.expireAfterWrite().toNanos(), properties.negativeExpireAfterWrite().toNanos()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Retorna {@code null} quando o ID não está em cache.
+     */
+    public CachedBook get(Long id) {
+        return properties.enabled() ? cache.getIfPresent(id) : null;
+    }
+
+    /**
+     * Busca no cache e, na falta, carrega com {@code loader} fora dos locks do cache: leituras simultâneas do
+     * mesmo ID esperam uma única carga num {@link SingleFlight}, sem prender a thread portadora de uma virtual
+     * thread nem as outras chaves do mesmo bin do mapa. O resultado entra no cache por {@link #putLoaded}, que o
+     * descarta se um {@link #evict(Long)} ocorreu durante a carga. {@code loader} retorna {@code null} para livro
+     * inexistente; nunca retorna {@code null}.
+     */
+    public CachedBook get(Long id, Function<Long, BookEntity> loader) {
+        if (!properties.enabled()) {
+            return wrap(loader.apply(id));
+        }
+        CachedBook cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        return loads.execute(id, () -> {
+            // Uma carga anterior pode ter terminado entre a consulta acima e a entrada no SingleFlight
+            CachedBook loaded = cache.asMap().get(id);
+            if (loaded != null) {
+                return loaded;
+            }
+            long generation = generation();
+            BookEntity book = loader.apply(id);
+            putLoaded(id, book, generation);
+            return wrap(book);
+        });
+    }
+
+    /**
+     * Versão em lote de {@link #get(Long, Function)}: os IDs fora do cache são carregados numa única chamada.
+     * A carga em lote não bloqueia as chaves, então o resultado só é gravado se nenhuma invalidação ocorreu
+     * desde o início da carga; caso contrário é devolvido sem entrar no cache.
+     */
+    public Map<Long, CachedBook> getAll(Collection<Long> ids, Function<List<Long>, List<BookEntity>> loader) {
+        Map<Long, CachedBook> result = new LinkedHashMap<>();
+        List<Long> pending = new ArrayList<>();
+        for (Long id : ids) {
+            CachedBook cached = get(id);
+            if (cached == null) {
+                pending.add(id);
+            } else {
+                result.put(id, cached);
+            }
+        }
+        if (pending.isEmpty()) {
+            return result;
+        }
+
+        long generation = generation();
+        Map<Long, BookEntity> loaded = new HashMap<>();
+        for (BookEntity book : loader.apply(pending)) {
+            loaded.put(book.getId(), book);
+        }
+        for (Long id : pending) {
+            BookEntity book = loaded.get(id);
+            putLoaded(id, book, generation);
+            result.put(id, wrap(book));
+        }
+        return result;
+    }
+
+    /**
+     * Marca o início de uma carga feita fora do cache, a ser informada depois em {@link #putLoaded}.
+     */
+    public long generation() {
+        return evictions.get();
+    }
+
+    /**
+     * Grava o resultado de uma carga iniciada em {@code generation}, a menos que tenha havido invalidação desde
+     * então: o valor pode ter sido lido antes da escrita que a causou. {@code book} nulo grava o cache negativo.
+     */
+    public void putLoaded(Long id, BookEntity book, long generation) {
+        if (!properties.enabled() || (book == null && !properties.negativeCaching())) {
+            return;
+        }
+        CachedBook value = wrap(book);
+        cache.asMap().compute(id, (key, current) -> current == null && evictions.get() == generation ? value : current);
+    }
+
+    public void put(BookEntity book) {
+        if (properties.enabled()) {
+            cache.put(book.getId(), new CachedBook(book));
+        }
+    }
+
+    public void putMissing(Long id) {
+        if (properties.enabled() && properties.negativeCaching()) {
+            cache.put(id, MISSING);
+        }
+    }
+
+    public void evict(Long id) {
+        evictions.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    /**
+     * Descarta o cache negativo, usado quando livros são criados sem passar por {@link #put(BookEntity)}.
+     */
+    public void evictMissing() {
+        evictions.incrementAndGet();
+        cache.asMap().values().removeIf(cached -> !cached.exists());
+    }
+
+    public void evictAll() {
+        evictions.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    private static CachedBook wrap(BookEntity book) {
+        return book != null ? new CachedBook(book) : MISSING;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new CaffeineCacheMetrics<>(cache, NAME, Collections.emptyList()).bindTo(registry);
+    }
+
+    private record CachedBookExpiry(long ttlNanos, long negativeTtlNanos) implements Expiry<Long, CachedBook> {
+
+        @Override
+        public long expireAfterCreate(Long id, CachedBook cached, long currentTime) {
+            return cached.exists() ? ttlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Long id, CachedBook cached, long currentTime, long currentDuration) {
+            return expireAfterCreate(id, cached, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long id, CachedBook cached, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
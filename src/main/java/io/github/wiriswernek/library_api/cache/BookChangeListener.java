@@ -0,0 +1,142 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.BookInvalidationProperties;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escuta o canal {@value #CHANNEL}, alimentado pela trigger da migração V5 a cada escrita em book,
+ * e descarta do {@link BookCache} os livros alterados e a região de busca do {@link BookQueryCache};
+ * os livros alterados são relidos para o {@link BookSuggestIndex}.
+ * Usa uma conexão própria fora do pool, mantida aberta enquanto a aplicação roda; após uma queda,
+ * reconecta e descarta os caches inteiros, já que as notificações do intervalo se perderam.
+ * O nó também recebe as próprias escritas, o que custa no máximo uma falha extra de cache e uma releitura.
+ * Só é iniciado no PostgreSQL.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "library.cache.invalidation", name = "enabled", matchIfMissing = true)
+public class BookChangeListener implements SmartLifecycle {
+
+    public static final String CHANNEL = "library_book_changed";
+
+    static final String ALL = "*";
+
+    private final BookCache bookCache;
+
+    private final BookQueryCache bookQueryCache;
+
+    private final BookSuggestIndex bookSuggestIndex;
+
+    private final BookInvalidationProperties properties;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    private volatile boolean running;
+
+    private Thread thread;
+
+    public BookChangeListener(BookCache bookCache, BookQueryCache bookQueryCache, BookSuggestIndex bookSuggestIndex,
+                              BookInvalidationProperties properties, DataSourceProperties dataSourceProperties,
+                              EntityManagerFactory entityManagerFactory) {
+        this.bookCache = bookCache;
+        this.bookQueryCache = bookQueryCache;
+        this.bookSuggestIndex = bookSuggestIndex;
+        this.properties = properties;
+        this.dataSourceProperties = dataSourceProperties;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void start() {
+        if (!DatabaseUtils.isPostgres(entityManagerFactory)) {
+            return;
+        }
+        DataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+        running = true;
+        thread = Thread.ofPlatform().daemon().name("book-change-listener").start(() -> listen(dataSource));
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (thread != null) {
+            thread.interrupt();
+            thread = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Aplica o payload de uma notificação: IDs separados por vírgula ou {@value #ALL} para tudo.
+     */
+    void apply(String payload) {
+        if (payload == null || payload.isBlank() || ALL.equals(payload)) {
+            bookCache.evictAll();
+            bookSuggestIndex.invalidate();
+        } else {
+            List<Long> ids = new ArrayList<>();
+            for (String id : payload.split(",")) {
+                ids.add(Long.valueOf(id.trim()));
+            }
+            ids.forEach(bookCache::evict);
+            bookSuggestIndex.refresh(ids);
+        }
+        bookQueryCache.evict();
+    }
+
+    private void listen(DataSource dataSource) {
+        boolean reconnecting = false;
+        while (running) {
+            try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                if (reconnecting) {
+                    apply(ALL);
+                    reconnecting = false;
+                }
+
+                PGConnection listener = connection.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = listener.getNotifications((int) properties.pollTimeout().toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            apply(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Falha ao escutar {}; reconectando em {}", CHANNEL, properties.reconnectDelay(), e);
+                reconnecting = true;
+                try {
+                    Thread.sleep(properties.reconnectDelay());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.Query;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache de consultas do Hibernate para a busca de livros, na região {@value #SEARCH_REGION}
+ * (tamanho e validade em application.conf). Escritas via JPA invalidam a região pelos carimbos de tabela;
+ * escritas fora do Hibernate (JDBC em lote, R2DBC, outros nós) chamam {@link #evict()}.
+ * As contagens que o BookCountService recalcula ficam de fora: o recálculo existe para trazer o valor atual.
+ * Com hibernate.cache.use_query_cache desligado as dicas são ignoradas.
+ */
+@Component
+public class BookQueryCache {
+
+    public static final String SEARCH_REGION = "book-search";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public BookQueryCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Marca a consulta como cacheável; consultas nativas passam a depender da tabela book
+     * para que os carimbos de escrita também as invalidem.
+     */
+    public static <Q extends Query> Q cacheable(Q query) {
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        query.setHint(HibernateHints.HINT_CACHE_REGION, SEARCH_REGION);
+        if (query instanceof NativeQuery<?> nativeQuery) {
+            nativeQuery.addSynchronizedEntityClass(BookEntity.class);
+        }
+        return query;
+    }
+
+    public void evict() {
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegion(SEARCH_REGION);
+    }
+}
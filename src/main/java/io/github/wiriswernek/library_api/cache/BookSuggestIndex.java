@@ -0,0 +1,340 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.BookSuggestProperties;
+import io.github.wiriswernek.library_api.datasource.DataSourceRouting;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.SuggestionFieldEnum;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Índice de prefixos em memória do autocomplete: títulos e autores distintos, sem acentos e em minúsculas,
+ * em um mapa ordenado com uma chave por início de palavra, para que "aventuras" encontre "As Aventuras de PI".
+ * Uma consulta ordena todas as completações do {@code subMap} do prefixo e não toca o banco; prefixos curtos, que
+ * casam com boa parte do índice, guardam o ranking até a próxima gravação de uma completação que comece com eles.
+ * Construído na inicialização lendo BOOK em fluxo e reconstruído periodicamente ou quando uma importação
+ * o invalida; as gravações deste nó entram na hora e as de outros nós chegam pelo {@link BookChangeListener}.
+ * Enquanto não há índice, as sugestões voltam vazias.
+ * Publica library.suggest.completions e library.suggest.books.
+ */
+@Component
+public class BookSuggestIndex implements MeterBinder {
+
+    private static final char SEPARATOR = '\u0000';
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final IBookRepository bookRepository;
+
+    private final BookSuggestProperties properties;
+
+    private volatile Index index;
+
+    private volatile Index building;
+
+    private volatile boolean stale = true;
+
+    private volatile long builtAt;
+
+    public BookSuggestIndex(IBookRepository bookRepository, BookSuggestProperties properties) {
+        this.bookRepository = bookRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Até {@code limit} completações de título ou autor para o prefixo, as mais frequentes primeiro.
+     */
+    public List<BookSuggestionDTO> suggest(String query, int limit) {
+        Index current = index;
+        String prefix = normalize(query);
+        int size = Math.min(limit, properties.maxResults());
+        if (current == null || !properties.enabled() || prefix.isEmpty() || size <= 0) {
+            return List.of();
+        }
+        return current.suggest(prefix, size);
+    }
+
+    public void put(Long id, String title, String author) {
+        apply(index -> index.put(id, title, author));
+    }
+
+    public void remove(Long id) {
+        apply(index -> index.remove(id));
+    }
+
+    /**
+     * Relê do primário os livros alterados por outro nó: os que ainda existem são reindexados e os demais removidos.
+     */
+    public void refresh(Collection<Long> ids) {
+        if (index == null && building == null) {
+            return;
+        }
+        List<BookEntity> books = DataSourceRouting.onPrimary(() -> bookRepository.findAllById(ids));
+        Set<Long> missing = new HashSet<>(ids);
+        for (BookEntity book : books) {
+            put(book.getId(), book.getTitle(), book.getAuthor());
+            missing.remove(book.getId());
+        }
+        missing.forEach(this::remove);
+    }
+
+    /**
+     * Marca o índice para reconstrução na próxima verificação (escritas em massa sem os IDs gerados).
+     */
+    public void invalidate() {
+        stale = true;
+    }
+
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${library.suggest.check-interval:PT1M}")
+    public void rebuildIfStale() {
+        if (properties.enabled() && (stale || System.nanoTime() - builtAt >= properties.rebuildInterval().toNanos())) {
+            rebuild();
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        // Limpo antes da leitura: uma invalidação durante ela pede outra reconstrução
+        stale = false;
+        Index next = new Index(properties.maxWords(), properties.rankedPrefixLength(), properties.maxResults());
+
+        // Gravações feitas durante a leitura entram nos dois índices
+        building = next;
+        try (Stream<BookDTO> books = bookRepository.streamAll(properties.fetchSize())) {
+            books.forEach(book -> next.put(book.getId(), book.getTitle(), book.getAuthor()));
+            index = next;
+            builtAt = System.nanoTime();
+        } catch (RuntimeException e) {
+            stale = true;
+            throw e;
+        } finally {
+            building = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "library.suggest.completions", "Títulos e autores distintos no índice do autocomplete", Index::completions);
+        gauge(registry, "library.suggest.books", "Livros no índice do autocomplete", Index::books);
+    }
+
+    /**
+     * Chave de comparação: sem acentos, em minúsculas e com qualquer pontuação reduzida a um espaço.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    private void apply(Consumer<Index> change) {
+        Index next = building;
+        if (next != null) {
+            change.accept(next);
+        }
+        Index current = index;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<Index> value) {
+        Gauge.builder(name, this, self -> {
+                    Index current = self.index;
+                    return current == null ? Double.NaN : value.applyAsDouble(current);
+                })
+                .description(description)
+                .register(registry);
+    }
+
+    /**
+     * Título ou autor distinto; {@code books} conta os livros que o usam e só muda dentro do compute do mapa.
+     */
+    private static final class Completion {
+
+        private final String key;
+
+        private final SuggestionFieldEnum field;
+
+        private final String text;
+
+        private final String normalized;
+
+        private volatile int books;
+
+        private Completion(String key, SuggestionFieldEnum field, String text, String normalized) {
+            this.key = key;
+            this.field = field;
+            this.text = text;
+            this.normalized = normalized;
+        }
+    }
+
+    private static final class Index {
+
+        private final int maxWords;
+
+        private final int rankedPrefixLength;
+
+        private final int maxResults;
+
+        /**
+         * Início de palavra + campo + texto normalizado; o sufixo mantém únicas as chaves de completações diferentes.
+         */
+        private final ConcurrentSkipListMap<String, Completion> prefixes = new ConcurrentSkipListMap<>();
+
+        private final ConcurrentHashMap<String, Completion> completions = new ConcurrentHashMap<>();
+
+        private final ConcurrentHashMap<Long, Completion[]> books = new ConcurrentHashMap<>();
+
+        /**
+         * As {@code maxResults} completações mais relevantes de cada prefixo curto já consultado.
+         */
+        private final ConcurrentHashMap<String, List<Completion>> rankedByPrefix = new ConcurrentHashMap<>();
+
+        private Index(int maxWords, int rankedPrefixLength, int maxResults) {
+            this.maxWords = maxWords;
+            this.rankedPrefixLength = rankedPrefixLength;
+            this.maxResults = maxResults;
+        }
+
+        private void put(Long id, String title, String author) {
+            Completion[] next = {acquire(SuggestionFieldEnum.TITLE, title), acquire(SuggestionFieldEnum.AUTHOR, author)};
+            forget(next);
+            Completion[] previous = books.put(id, next);
+            release(previous);
+            forget(previous);
+        }
+
+        private void remove(Long id) {
+            Completion[] previous = books.remove(id);
+            release(previous);
+            forget(previous);
+        }
+
+        private List<BookSuggestionDTO> suggest(String prefix, int limit) {
+            List<Completion> ranked = prefix.length() <= rankedPrefixLength
+                    ? rankedByPrefix.computeIfAbsent(prefix, key -> rank(key, maxResults))
+                    : rank(prefix, limit);
+            return ranked.stream()
+                    .limit(limit)
+                    .map(completion -> new BookSuggestionDTO(completion.text, completion.field, completion.books))
+                    .toList();
+        }
+
+        /**
+         * Ordena todas as completações com uma palavra iniciada pelo prefixo; a mesma completação aparece no
+         * {@code subMap} uma vez por palavra que casa.
+         */
+        private List<Completion> rank(String prefix, int limit) {
+            return prefixes.subMap(prefix, prefix + Character.MAX_VALUE).values().stream()
+                    .distinct()
+                    .sorted(Comparator.comparingInt((Completion completion) -> completion.books).reversed()
+                            .thenComparing(completion -> !completion.normalized.startsWith(prefix))
+                            .thenComparingInt(completion -> completion.normalized.length()))
+                    .limit(limit)
+                    .toList();
+        }
+
+        /**
+         * Descarta os rankings guardados dos prefixos curtos das completações cuja contagem mudou. Roda depois da
+         * mudança: um ranking calculado antes dela é sempre descartado aqui.
+         */
+        private void forget(Completion[] changed) {
+            if (changed == null) {
+                return;
+            }
+            for (Completion completion : changed) {
+                if (completion == null) {
+                    continue;
+                }
+                for (String start : wordStarts(completion.normalized)) {
+                    for (int length = 1; length <= Math.min(rankedPrefixLength, start.length()); length++) {
+                        rankedByPrefix.remove(start.substring(0, length));
+                    }
+                }
+            }
+        }
+
+        private Completion acquire(SuggestionFieldEnum field, String text) {
+            String normalized = normalize(text);
+            if (normalized.isEmpty()) {
+                return null;
+            }
+            return completions.compute(field.name() + SEPARATOR + normalized, (key, completion) -> {
+                if (completion == null) {
+                    completion = new Completion(key, field, text.strip(), normalized);
+                    for (String start : wordStarts(normalized)) {
+                        prefixes.put(start + SEPARATOR + key, completion);
+                    }
+                }
+                completion.books++;
+                return completion;
+            });
+        }
+
+        private void release(Completion[] previous) {
+            if (previous == null) {
+                return;
+            }
+            for (Completion completion : previous) {
+                if (completion == null) {
+                    continue;
+                }
+                completions.computeIfPresent(completion.key, (key, current) -> {
+                    if (--current.books > 0) {
+                        return current;
+                    }
+                    for (String start : wordStarts(current.normalized)) {
+                        prefixes.remove(start + SEPARATOR + key);
+                    }
+                    return null;
+                });
+            }
+        }
+
+        private List<String> wordStarts(String normalized) {
+            List<String> starts = new ArrayList<>();
+            starts.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0 && starts.size() < maxWords; i = normalized.indexOf(' ', i + 1)) {
+                starts.add(normalized.substring(i + 1));
+            }
+            return starts;
+        }
+
+        private double completions() {
+            return completions.size();
+        }
+
+        private double books() {
+            return books.size();
+        }
+    }
+}
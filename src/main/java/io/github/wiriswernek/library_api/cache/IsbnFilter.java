@@ -0,0 +1,141 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.IsbnFilterProperties;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.utils.BloomFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Stream;
+
+/**
+ * ISBNs já cadastrados em um {@link BloomFilter}, para que a importação em massa só consulte o banco
+ * sobre os ISBNs que provavelmente existem. Construído na inicialização lendo BOOK.ISBN em fluxo e
+ * reconstruído periodicamente; as gravações deste nó entram na hora. Enquanto não há filtro, todo ISBN
+ * é tratado como provável, sem contar falsos positivos. Um falso negativo (ISBN gravado por outro nó desde a última reconstrução)
+ * não quebra nada: o índice único recusa o insert e a importação refaz o lote linha a linha.
+ * Publica library.isbn.filter.* (taxa esperada, bytes, entradas, consultas e falsos positivos observados).
+ */
+@Component
+public class IsbnFilter implements MeterBinder {
+
+    private final IBookRepository bookRepository;
+
+    private final IsbnFilterProperties properties;
+
+    private final LongAdder absent = new LongAdder();
+
+    private final LongAdder probable = new LongAdder();
+
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile BloomFilter filter;
+
+    private volatile BloomFilter building;
+
+    public IsbnFilter(IBookRepository bookRepository, IsbnFilterProperties properties) {
+        this.bookRepository = bookRepository;
+        this.properties = properties;
+    }
+
+    public boolean mightContain(String isbn) {
+        BloomFilter current = filter;
+        if (current == null || !properties.enabled() || current.mightContain(isbn)) {
+            probable.increment();
+            return true;
+        }
+        absent.increment();
+        return false;
+    }
+
+    public void add(String isbn) {
+        BloomFilter next = building;
+        if (next != null) {
+            next.put(isbn);
+        }
+        BloomFilter current = filter;
+        if (current != null) {
+            current.put(isbn);
+        }
+    }
+
+    /**
+     * ISBNs do lote que podem existir, todos consultados no mesmo filtro. Sem filtro construído (ou com ele
+     * desligado) o lote inteiro volta como provável e {@link Lookup#filtered()} é falso.
+     */
+    public Lookup lookup(List<String> isbns) {
+        BloomFilter current = properties.enabled() ? filter : null;
+        List<String> probable = current == null ? isbns : isbns.stream().filter(current::mightContain).toList();
+        this.probable.add(probable.size());
+        absent.add(isbns.size() - probable.size());
+        return new Lookup(probable, current != null);
+    }
+
+    /**
+     * ISBNs dados como prováveis pelo filtro que o banco confirmou não existirem. Só vale para um
+     * {@link Lookup} com {@code filtered}; sem filtro não houve resposta do filtro a contar.
+     */
+    public void recordFalsePositives(long count) {
+        if (count > 0) {
+            falsePositives.add(count);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    @Scheduled(initialDelay = 0, fixedDelayString = "${library.isbn-filter.rebuild-interval:PT6H}")
+    public void rebuild() {
+        if (!properties.enabled()) {
+            return;
+        }
+        Long estimate = bookRepository.estimateCount();
+        long rows = estimate != null ? estimate : bookRepository.count();
+        BloomFilter next = BloomFilter.create(Math.max(properties.expectedInsertions(), rows * 2), properties.falsePositiveRate());
+
+        // Gravações feitas durante a leitura entram nos dois filtros
+        building = next;
+        try (Stream<String> isbns = bookRepository.streamIsbns(properties.fetchSize())) {
+            isbns.forEach(next::put);
+            filter = next;
+        } finally {
+            building = null;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        gauge(registry, "library.isbn.filter.expected.fpp", "Taxa de falso positivo esperada", BloomFilter::expectedFalsePositiveRate);
+        gauge(registry, "library.isbn.filter.bytes", "Memória ocupada pelos bits do filtro", BloomFilter::sizeInBytes);
+        gauge(registry, "library.isbn.filter.entries", "ISBNs incluídos no filtro", BloomFilter::entries);
+        FunctionCounter.builder("library.isbn.filter.lookups", absent, LongAdder::sum)
+                .description("Consultas ao filtro de ISBN")
+                .tag("result", "absent")
+                .register(registry);
+        FunctionCounter.builder("library.isbn.filter.lookups", probable, LongAdder::sum)
+                .description("Consultas ao filtro de ISBN")
+                .tag("result", "probable")
+                .register(registry);
+        FunctionCounter.builder("library.isbn.filter.false.positives", falsePositives, LongAdder::sum)
+                .description("ISBNs prováveis que o banco não tinha")
+                .register(registry);
+    }
+
+    public record Lookup(List<String> probable, boolean filtered) {
+    }
+
+    private void gauge(MeterRegistry registry, String name, String description, ToDoubleFunction<BloomFilter> value) {
+        Gauge.builder(name, this, self -> {
+                    BloomFilter current = self.filter;
+                    return current == null ? Double.NaN : value.applyAsDouble(current);
+                })
+                .description(description)
+                .register(registry);
+    }
+}
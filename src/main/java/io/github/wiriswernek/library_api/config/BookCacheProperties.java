@@ -0,0 +1,19 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Cache local de livros por ID. O cache negativo guarda por pouco tempo os IDs inexistentes,
+ * evitando que varreduras de IDs aleatórios cheguem ao banco.
+ */
+@ConfigurationProperties(prefix = "library.cache.books")
+public record BookCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") long maximumSize,
+        @DefaultValue("PT10M") Duration expireAfterWrite,
+        @DefaultValue("false") boolean negativeCaching,
+        @DefaultValue("PT30S") Duration negativeExpireAfterWrite) {
+}
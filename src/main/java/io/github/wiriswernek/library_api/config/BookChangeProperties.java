@@ -0,0 +1,16 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Feed de alterações. Lápides com mais de {@code tombstoneRetention} são expurgadas a cada {@code purgeInterval},
+ * e tokens mais antigos que isso passam a exigir nova sincronização.
+ */
+@ConfigurationProperties(prefix = "library.changes")
+public record BookChangeProperties(@DefaultValue("P30D") Duration tombstoneRetention,
+                                   @DefaultValue("PT1H") Duration purgeInterval,
+                                   @DefaultValue("1000") int maxPageSize) {
+}
@@ -0,0 +1,17 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Invalidação dos caches de livros entre nós via LISTEN/NOTIFY do PostgreSQL.
+ * {@code pollTimeout} é a espera máxima por notificações antes de reavaliar o encerramento;
+ * {@code reconnectDelay} é a pausa antes de reabrir a conexão após uma falha.
+ */
+@ConfigurationProperties(prefix = "library.cache.invalidation")
+public record BookInvalidationProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue("1s") Duration pollTimeout,
+                                         @DefaultValue("5s") Duration reconnectDelay) {
+}
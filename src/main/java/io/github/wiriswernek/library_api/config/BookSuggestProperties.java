@@ -0,0 +1,23 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Índice de prefixos do autocomplete. Cada título e autor entra uma vez por início de palavra, até
+ * {@code maxWords} palavras; {@code maxResults} limita o {@code limit} pedido. Prefixos de até
+ * {@code rankedPrefixLength} caracteres, que casam com muitas completações, guardam o ranking já calculado até a
+ * próxima gravação que os afete. O índice é reconstruído a cada {@code rebuildInterval}, ou no próximo
+ * {@code checkInterval} quando uma importação o invalida.
+ */
+@ConfigurationProperties(prefix = "library.suggest")
+public record BookSuggestProperties(@DefaultValue("true") boolean enabled,
+                                    @DefaultValue("6") int maxWords,
+                                    @DefaultValue("20") int maxResults,
+                                    @DefaultValue("PT6H") Duration rebuildInterval,
+                                    @DefaultValue("PT1M") Duration checkInterval,
+                                    @DefaultValue("1000") int fetchSize,
+                                    @DefaultValue("3") int rankedPrefixLength) {
+}
@@ -0,0 +1,10 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "library.bulk")
+public record BulkProperties(
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("1000") int maxErrors) {
+}
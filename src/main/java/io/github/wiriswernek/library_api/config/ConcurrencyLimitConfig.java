@@ -0,0 +1,53 @@
+package io.github.wiriswernek.library_api.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wiriswernek.library_api.limit.AdaptiveLimiter;
+import io.github.wiriswernek.library_api.limit.ConcurrencyLimitInterceptor;
+import io.github.wiriswernek.library_api.model.enums.ConcurrencyBudgetEnum;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Map;
+
+/**
+ * Limites adaptativos de concorrência dos endpoints de livros da pilha servlet, com orçamentos
+ * separados para leituras e escritas para que uma rajada de um lado não derrube o outro.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "library.limiter", name = "enabled", matchIfMissing = true)
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    public ConcurrencyLimitConfig(ConcurrencyLimitProperties properties, ObjectMapper objectMapper,
+                                  ObjectProvider<MeterRegistry> registry) throws JsonProcessingException {
+        AdaptiveLimiter reads = new AdaptiveLimiter("read", properties.reads());
+        AdaptiveLimiter writes = new AdaptiveLimiter("write", properties.writes());
+        registry.ifAvailable(meters -> {
+            reads.bindTo(meters);
+            writes.bindTo(meters);
+        });
+        this.interceptor = new ConcurrencyLimitInterceptor(
+                Map.of(ConcurrencyBudgetEnum.READ, reads, ConcurrencyBudgetEnum.WRITE, writes), objectMapper);
+    }
+
+    @Bean
+    public ConcurrencyLimitInterceptor concurrencyLimitInterceptor() {
+        return interceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor).addPathPatterns("/api/books/**");
+    }
+}
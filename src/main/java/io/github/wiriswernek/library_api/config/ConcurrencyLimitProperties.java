@@ -0,0 +1,24 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limites adaptativos de requisições simultâneas, um por orçamento (leituras e escritas).
+ * O limite parte de {@code initialLimit}, cresce enquanto as respostas ficam abaixo de
+ * {@code latencyThreshold} e é multiplicado por {@code backoffRatio} quando elas passam dele ou falham.
+ */
+@ConfigurationProperties(prefix = "library.limiter")
+public record ConcurrencyLimitProperties(@DefaultValue("true") boolean enabled,
+                                         @DefaultValue Budget reads,
+                                         @DefaultValue Budget writes) {
+
+    public record Budget(@DefaultValue("50") int initialLimit,
+                         @DefaultValue("10") int minLimit,
+                         @DefaultValue("200") int maxLimit,
+                         @DefaultValue("250ms") Duration latencyThreshold,
+                         @DefaultValue("0.9") double backoffRatio) {
+    }
+}
@@ -0,0 +1,18 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Totais aproximados das listagens. A cada {@code refreshInterval} no máximo {@code refreshBudget} filtros, entre os
+ * lidos desde a rodada anterior, têm a contagem exata recalculada.
+ */
+@ConfigurationProperties(prefix = "library.count")
+public record CountProperties(
+        @DefaultValue("PT1M") Duration refreshInterval,
+        @DefaultValue("PT10M") Duration filterIdleTimeout,
+        @DefaultValue("1000") int maxFilters,
+        @DefaultValue("50") int refreshBudget) {
+}
@@ -0,0 +1,68 @@
+package io.github.wiriswernek.library_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.wiriswernek.library_api.datasource.ConcurrencyLimitedDataSource;
+import io.github.wiriswernek.library_api.datasource.ReadWriteRoutingDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * No modo de threads virtuais ({@code spring.threads.virtual.enabled=true}) o Tomcat, o executor
+ * de tarefas assíncronas e o agendador passam a usar threads virtuais; o DataSource é então
+ * envolvido por {@link ConcurrencyLimitedDataSource} para que o banco continue protegido.
+ * Com réplicas, cada pool recebe o próprio limite, do tamanho dele: um limite único somaria as conexões das
+ * réplicas às do primário e deixaria escritas e leituras fixadas enfileirarem além do que o primário atende.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class DataSourceGuardConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(ObjectProvider<DataSourceGuardProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitedDataSource) {
+                    return bean;
+                }
+                DataSourceGuardProperties guard = properties.getObject();
+                if (dataSource instanceof ReadWriteRoutingDataSource routing) {
+                    return routing.withGuard(pool -> limit(pool, guard));
+                }
+                return limit(dataSource, guard);
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConcurrencyLimitedDataSource guarded) {
+                guarded.bindTo(registry);
+            } else if (dataSource instanceof ReadWriteRoutingDataSource routing) {
+                for (DataSource target : routing.getTargets()) {
+                    if (target instanceof ConcurrencyLimitedDataSource guarded) {
+                        guarded.bindTo(registry);
+                    }
+                }
+            }
+        };
+    }
+
+    private static ConcurrencyLimitedDataSource limit(DataSource pool, DataSourceGuardProperties guard) {
+        int maxConcurrency = guard.maxConcurrency() > 0 ? guard.maxConcurrency() : poolSize(pool);
+        String name = pool instanceof HikariDataSource hikari && hikari.getPoolName() != null ? hikari.getPoolName() : "primary";
+        return new ConcurrencyLimitedDataSource(pool, maxConcurrency, guard.acquireTimeout(), name);
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        return dataSource instanceof HikariDataSource hikari ? hikari.getMaximumPoolSize() : 10;
+    }
+}
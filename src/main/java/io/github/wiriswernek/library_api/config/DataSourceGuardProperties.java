@@ -0,0 +1,16 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Limite de acessos simultâneos ao banco aplicado no modo de threads virtuais.
+ * {@code maxConcurrency} igual a 0 usa o tamanho máximo do pool do HikariCP; com réplicas o limite vale
+ * para cada pool.
+ */
+@ConfigurationProperties(prefix = "library.datasource.guard")
+public record DataSourceGuardProperties(@DefaultValue("0") int maxConcurrency,
+                                        @DefaultValue("30s") Duration acquireTimeout) {
+}
@@ -0,0 +1,99 @@
+package io.github.wiriswernek.library_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.wiriswernek.library_api.datasource.ReadWriteRoutingDataSource;
+import io.github.wiriswernek.library_api.datasource.ReadYourWritesFilter;
+import io.github.wiriswernek.library_api.datasource.ReplicaDataSources;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.actuate.autoconfigure.health.ConditionalOnEnabledHealthIndicator;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.actuate.health.HealthContributor;
+import org.springframework.boot.actuate.jdbc.DataSourceHealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Com library.datasource.replicas.urls preenchido, o pool do HikariCP do primário é envolvido por
+ * {@link ReadWriteRoutingDataSource}, com um pool somente leitura por réplica. Roda antes do limite
+ * de concorrência de {@link DataSourceGuardConfig}, que passa a envolver cada pool do roteamento.
+ * Os pools das réplicas são o bean {@link ReplicaDataSources}, que os fecha e publica métricas, e entram
+ * no health como {@code replicas}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataSourceReplicaConfig {
+
+    @Bean
+    public static BeanPostProcessor readWriteRoutingDataSourcePostProcessor(ObjectProvider<DataSourceReplicaProperties> replicaProperties,
+                                                                            ObjectProvider<ReplicaDataSources> replicaDataSources) {
+        return new RoutingPostProcessor(replicaProperties, replicaDataSources);
+    }
+
+    @Bean
+    public static ReplicaDataSources replicaDataSources(DataSourceReplicaProperties replicas, DataSourceProperties properties) {
+        List<HikariDataSource> pools = new ArrayList<>(replicas.urls().size());
+        for (int i = 0; i < replicas.urls().size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(replicas.urls().get(i));
+            replica.setUsername(replicas.username() != null ? replicas.username() : properties.determineUsername());
+            replica.setPassword(replicas.password() != null ? replicas.password() : properties.determinePassword());
+            replica.setMaximumPoolSize(replicas.maximumPoolSize());
+            replica.setReadOnly(true);
+            pools.add(replica);
+        }
+        return new ReplicaDataSources(pools);
+    }
+
+    @Bean
+    @ConditionalOnEnabledHealthIndicator("db")
+    public HealthContributor replicasHealthContributor(ReplicaDataSources replicaDataSources) {
+        Map<String, DataSourceHealthIndicator> indicators = new LinkedHashMap<>();
+        for (HikariDataSource pool : replicaDataSources.getPools()) {
+            indicators.put(pool.getPoolName(), new DataSourceHealthIndicator(pool));
+        }
+        return CompositeHealthContributor.fromMap(indicators);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public ReadYourWritesFilter readYourWritesFilter() {
+        return new ReadYourWritesFilter();
+    }
+
+    private record RoutingPostProcessor(ObjectProvider<DataSourceReplicaProperties> replicaProperties,
+                                        ObjectProvider<ReplicaDataSources> replicaDataSources) implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof HikariDataSource primary)) {
+                return bean;
+            }
+            if (replicaProperties.getObject().urls().isEmpty()) {
+                return bean;
+            }
+
+            ReplicaDataSources replicas = replicaDataSources.getObject();
+            List<DataSource> pools = new ArrayList<>(replicas.getPools().size());
+            for (HikariDataSource replica : replicas.getPools()) {
+                replica.setConnectionTimeout(primary.getConnectionTimeout());
+                pools.add(replica);
+            }
+            return new ReadWriteRoutingDataSource(primary, pools, replicaProperties.getObject().balancing());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
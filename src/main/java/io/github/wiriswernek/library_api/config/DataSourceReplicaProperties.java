@@ -0,0 +1,19 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.enums.ReplicaBalancingEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Réplicas de leitura do banco. Sem {@code urls} todo o tráfego vai para spring.datasource.url;
+ * usuário e senha ausentes reaproveitam os do primário.
+ */
+@ConfigurationProperties(prefix = "library.datasource.replicas")
+public record DataSourceReplicaProperties(@DefaultValue List<String> urls,
+                                          String username,
+                                          String password,
+                                          @DefaultValue("10") int maximumPoolSize,
+                                          @DefaultValue("ROUND_ROBIN") ReplicaBalancingEnum balancing) {
+}
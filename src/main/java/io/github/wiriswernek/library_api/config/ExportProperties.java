@@ -0,0 +1,8 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "library.export")
+public record ExportProperties(@DefaultValue("1000") int fetchSize) {
+}
@@ -0,0 +1,19 @@
+package io.github.wiriswernek.library_api.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Filtro de Bloom dos ISBNs cadastrados. É dimensionado para o maior valor entre
+ * {@code expectedInsertions} e o dobro das linhas atuais, e reconstruído a cada {@code rebuildInterval}
+ * para descartar ISBNs excluídos ou alterados e incluir os gravados por outros nós.
+ */
+@ConfigurationProperties(prefix = "library.isbn-filter")
+public record IsbnFilterProperties(@DefaultValue("true") boolean enabled,
+                                   @DefaultValue("1000000") long expectedInsertions,
+                                   @DefaultValue("0.01") double falsePositiveRate,
+                                   @DefaultValue("PT6H") Duration rebuildInterval,
+                                   @DefaultValue("1000") int fetchSize) {
+}
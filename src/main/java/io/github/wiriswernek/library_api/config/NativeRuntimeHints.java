@@ -0,0 +1,22 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Dicas para a imagem nativa do que o processamento AOT não descobre sozinho: as migrações do Flyway
+ * em subpastas por banco, a configuração das regiões de cache do Caffeine (application.conf), os tipos que o ObjectMapper lê e escreve fora dos controllers
+ * (importação e exportação em massa) e o construtor de BookDTO usado pelas projeções do Hibernate.
+ */
+public class NativeRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        hints.resources().registerPattern("db/migration/*/*.sql");
+        hints.resources().registerPattern("application.conf");
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), BookRequest.class, BookDTO.class);
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import io.github.wiriswernek.library_api.service.imp.ExampleBookSearchEngine;
+import io.github.wiriswernek.library_api.service.imp.TrigramBookSearchEngine;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SearchConfig {
+
+    @Bean
+    public BookSearchEngine bookSearchEngine(SearchProperties properties, IBookRepository bookRepository,
+                                             BookMapper bookMapper, EntityManagerFactory entityManagerFactory) {
+        boolean trigram = switch (properties.engine()) {
+            case TRIGRAM -> true;
+            case EXAMPLE -> false;
+            case AUTO -> DatabaseUtils.isPostgres(entityManagerFactory);
+        };
+        return trigram ? new TrigramBookSearchEngine(bookRepository) : new ExampleBookSearchEngine(bookRepository, bookMapper);
+    }
+}
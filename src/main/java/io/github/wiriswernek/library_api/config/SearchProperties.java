@@ -0,0 +1,9 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.enums.SearchEngineEnum;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties(prefix = "library.search")
+public record SearchProperties(@DefaultValue("AUTO") SearchEngineEnum engine) {
+}
@@ -0,0 +1,119 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Limita quantas conexões podem estar em uso ao mesmo tempo com um semáforo justo.
+ * Com threads virtuais não há mais o teto de 200 threads do Tomcat; sem o limite, milhares de
+ * requisições ficariam disputando o pool do HikariCP. Aqui elas esperam em fila (FIFO), estacionando
+ * apenas a thread virtual, e desistem após {@code acquireTimeout}.
+ * A permissão é devolvida quando a conexão é fechada. As métricas levam a tag {@code pool}, já que com réplicas
+ * há um limite por pool.
+ */
+public class ConcurrencyLimitedDataSource extends DelegatingDataSource implements MeterBinder {
+
+    private final Semaphore permits;
+
+    private final int maxConcurrency;
+
+    private final Duration acquireTimeout;
+
+    private final String pool;
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        this(target, maxConcurrency, acquireTimeout, "primary");
+    }
+
+    public ConcurrencyLimitedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout, String pool) {
+        super(target);
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.pool = pool;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return guard(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.datasource.permits.available", permits, Semaphore::availablePermits)
+                .description("Acessos simultâneos ao banco ainda disponíveis")
+                .tag("pool", pool)
+                .register(registry);
+        Gauge.builder("library.datasource.permits.waiting", permits, Semaphore::getQueueLength)
+                .description("Threads aguardando permissão para acessar o banco")
+                .tag("pool", pool)
+                .register(registry);
+    }
+
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException(
+                        "Limite de " + maxConcurrency + " acessos simultâneos ao banco atingido após " + acquireTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando acesso ao banco", e);
+        }
+    }
+
+    private Connection guard(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        } finally {
+                            permits.release();
+                        }
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Fixa as leituras da thread atual no banco primário, mesmo em transações somente leitura.
+ * Usado para ler as próprias escritas e quando o resultado alimenta um cache, já que uma réplica
+ * atrasada devolveria um valor que o cache guardaria até expirar.
+ */
+public final class DataSourceRouting {
+
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private DataSourceRouting() {
+    }
+
+    public interface Pin extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Fixa no primário até o {@link Pin#close()}; chamadas aninhadas mantêm a fixação externa.
+     */
+    public static Pin pinToPrimary() {
+        if (isPinnedToPrimary()) {
+            return () -> {
+            };
+        }
+        PINNED.set(Boolean.TRUE);
+        return PINNED::remove;
+    }
+
+    public static <T> T onPrimary(Supplier<T> action) {
+        try (Pin ignored = pinToPrimary()) {
+            return action.get();
+        }
+    }
+}
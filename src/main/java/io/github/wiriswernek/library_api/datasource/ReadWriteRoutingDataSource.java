@@ -0,0 +1,142 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.wiriswernek.library_api.model.enums.ReplicaBalancingEnum;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Separa leituras e escritas: transações somente leitura vão para uma das réplicas e o restante
+ * (escritas, Flyway, leituras sem transação somente leitura) para o primário.
+ * A conexão real só é obtida no primeiro comando, quando o gerenciador de transações já marcou
+ * a conexão como somente leitura; leituras fixadas por {@link DataSourceRouting} ficam no primário.
+ * Como o destino só é conhecido nesse momento, o limite de concorrência das threads virtuais é aplicado a cada
+ * pool por {@link #withGuard(UnaryOperator)}, e não em volta do roteamento.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    private final DataSource primary;
+
+    private final List<DataSource> replicas;
+
+    private final ReplicaBalancingEnum balancing;
+
+    private final List<DataSource> targets;
+
+    public ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaBalancingEnum balancing) {
+        this(primary, replicas, balancing, UnaryOperator.identity());
+    }
+
+    private ReadWriteRoutingDataSource(DataSource primary, List<DataSource> replicas, ReplicaBalancingEnum balancing,
+                                       UnaryOperator<DataSource> guard) {
+        super(guard.apply(primary));
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.balancing = balancing;
+        List<DataSource> guardedReplicas = this.replicas.stream().map(guard).toList();
+        setReadOnlyDataSource(new ReplicaDataSource(obtainTargetDataSource(), this.replicas, guardedReplicas, balancing));
+
+        List<DataSource> targets = new ArrayList<>(guardedReplicas.size() + 1);
+        targets.add(obtainTargetDataSource());
+        targets.addAll(guardedReplicas);
+        this.targets = List.copyOf(targets);
+    }
+
+    /**
+     * Mesmo roteamento com cada pool (primário e réplicas) envolvido por {@code guard}, para que escritas e
+     * leituras fixadas no primário disputem só as conexões do primário.
+     */
+    public ReadWriteRoutingDataSource withGuard(UnaryOperator<DataSource> guard) {
+        return new ReadWriteRoutingDataSource(primary, replicas, balancing, guard);
+    }
+
+    /**
+     * Destinos das conexões, o primário primeiro, como entregues por {@link #withGuard(UnaryOperator)}.
+     */
+    public List<DataSource> getTargets() {
+        return targets;
+    }
+
+    /**
+     * Fecha só o primário; os pools das réplicas são fechados por quem os criou ({@link ReplicaDataSources}).
+     */
+    @Override
+    public void close() throws Exception {
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+
+    private static final class ReplicaDataSource extends AbstractDataSource {
+
+        private final DataSource primary;
+
+        private final List<DataSource> replicas;
+
+        private final List<DataSource> targets;
+
+        private final ReplicaBalancingEnum balancing;
+
+        private final AtomicInteger next = new AtomicInteger();
+
+        /**
+         * {@code replicas} são os pools, consultados para o balanceamento; {@code targets}, na mesma ordem,
+         * os destinos das conexões.
+         */
+        private ReplicaDataSource(DataSource primary, List<DataSource> replicas, List<DataSource> targets, ReplicaBalancingEnum balancing) {
+            this.primary = primary;
+            this.replicas = replicas;
+            this.targets = targets;
+            this.balancing = balancing;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return target().getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return target().getConnection(username, password);
+        }
+
+        private DataSource target() {
+            if (replicas.isEmpty() || DataSourceRouting.isPinnedToPrimary()) {
+                return primary;
+            }
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            if (balancing == ReplicaBalancingEnum.ROUND_ROBIN) {
+                return targets.get(start);
+            }
+
+            int least = start;
+            int leastActive = Integer.MAX_VALUE;
+            for (int i = 0; i < replicas.size(); i++) {
+                int index = (start + i) % replicas.size();
+                int active = activeConnections(replicas.get(index));
+                if (active < leastActive) {
+                    least = index;
+                    leastActive = active;
+                }
+            }
+            return targets.get(least);
+        }
+
+        private static int activeConnections(DataSource dataSource) {
+            if (dataSource instanceof HikariDataSource hikari) {
+                HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+                return pool == null ? 0 : pool.getActiveConnections();
+            }
+            return 0;
+        }
+    }
+}
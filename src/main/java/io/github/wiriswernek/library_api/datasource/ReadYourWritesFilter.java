@@ -0,0 +1,30 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Requisições com {@value #HEADER}: true leem do primário, para que o cliente veja as próprias escritas
+ * mesmo com as réplicas atrasadas.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Read-Your-Writes";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!Boolean.parseBoolean(request.getHeader(HEADER))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try (DataSourceRouting.Pin ignored = DataSourceRouting.pinToPrimary()) {
+            chain.doFilter(request, response);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.List;
+
+/**
+ * Pools somente leitura das réplicas. Pertencem ao contexto, e não ao {@link ReadWriteRoutingDataSource}: o
+ * DataSource exposto pode estar envolvido por outros proxies que não repassam o fechamento, então os pools são
+ * fechados aqui ao encerrar a aplicação. Publica as métricas hikaricp.* de cada pool, como o Boot faz com o primário.
+ */
+public class ReplicaDataSources implements DisposableBean, MeterBinder {
+
+    private final List<HikariDataSource> pools;
+
+    public ReplicaDataSources(List<HikariDataSource> pools) {
+        this.pools = List.copyOf(pools);
+    }
+
+    public List<HikariDataSource> getPools() {
+        return pools;
+    }
+
+    public boolean isEmpty() {
+        return pools.isEmpty();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (HikariDataSource pool : pools) {
+            if (pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null) {
+                pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -1,11 +1,28 @@
 package io.github.wiriswernek.library_api.exceptions;
 
+/**
+ * Erro de negócio esperado (livro inexistente, ISBN repetido...). Não preenche a pilha de chamadas nem
+ * aceita exceções suprimidas: o erro é identificado pelo {@link ErrosEnum}, e o stack trace seria o custo
+ * dominante quando muitas requisições pedem IDs inexistentes.
+ */
 public class BusinessExcetion extends RuntimeException {
+
+    private final ErrosEnum erro;
+
     public BusinessExcetion(String message) {
-        super(message);
+        super(message, null, false, false);
+        this.erro = null;
     }
 
     public BusinessExcetion(ErrosEnum erro) {
-        super(erro.toString());
+        super(erro.toString(), null, false, false);
+        this.erro = erro;
+    }
+
+    /**
+     * Erro de origem; {@code null} quando a exceção foi criada só com a mensagem.
+     */
+    public ErrosEnum getErro() {
+        return erro;
     }
 }
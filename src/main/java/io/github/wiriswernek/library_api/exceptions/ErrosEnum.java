@@ -1,12 +1,43 @@
 package io.github.wiriswernek.library_api.exceptions;
 
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+
 public enum ErrosEnum {
-    ISBN_DUPLICADO("O ISBN informado já é utilizado em outro livro"),
-    LIVRO_NAO_ENCONTRADO("Livro não encontrado");
+    ISBN_DUPLICADO("O ISBN informado já é utilizado em outro livro", HttpStatus.CONFLICT),
+    LIVRO_NAO_ENCONTRADO("Livro não encontrado", HttpStatus.NOT_FOUND),
+    CURSOR_INVALIDO("O cursor de paginação informado é inválido", HttpStatus.BAD_REQUEST),
+    VERSAO_DESATUALIZADA("O livro foi alterado desde a versão informada em If-Match", HttpStatus.PRECONDITION_FAILED),
+    LIMITE_DE_IDS_EXCEDIDO("Quantidade de IDs acima do permitido por consulta", HttpStatus.BAD_REQUEST),
+    SERVICO_SOBRECARREGADO("Servidor sobrecarregado; tente novamente em instantes", HttpStatus.SERVICE_UNAVAILABLE),
+    TOKEN_DE_SINCRONIZACAO_INVALIDO("O token de sincronização informado é inválido", HttpStatus.BAD_REQUEST),
+    TOKEN_DE_SINCRONIZACAO_EXPIRADO("O token de sincronização expirou; sincronize novamente sem o parâmetro since", HttpStatus.GONE),
+    IMPORTACAO_MALFORMADA("O corpo da importação não pôde ser lido no formato informado", HttpStatus.BAD_REQUEST),
+    FORMATO_NAO_SUPORTADO("Formato de importação não suportado", HttpStatus.BAD_REQUEST),
+    PARAMETROS_INCOMPATIVEIS("Os parâmetros ids e after não podem ser usados na mesma consulta", HttpStatus.BAD_REQUEST);
 
     private String descricao;
 
-    ErrosEnum(String descricao) {
+    private final HttpStatus status;
+
+    private final List<String> errors;
+
+    ErrosEnum(String descricao, HttpStatus status) {
         this.descricao = descricao;
+        this.status = status;
+        this.errors = List.of(name());
+    }
+
+    public HttpStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Corpo de resposta novo a cada chamada, já que {@link ApiErrors} é mutável; só a lista de erros,
+     * imutável, é compartilhada entre requisições.
+     */
+    public ApiErrors getApiErrors() {
+        return new ApiErrors(errors);
     }
 }
@@ -0,0 +1,105 @@
+package io.github.wiriswernek.library_api.limit;
+
+import io.github.wiriswernek.library_api.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limite de requisições simultâneas no estilo AIMD, guiado pela latência medida: cada resposta rápida
+ * com o limite em uso soma {@code 1/limite} (cerca de +1 por janela cheia), e uma resposta lenta ou com falha
+ * multiplica o limite por {@code backoffRatio}, no máximo uma vez por {@code latencyThreshold} para que
+ * uma rajada de respostas lentas conte como um único sinal. Acima do limite a requisição é recusada na hora.
+ * Publica library.limiter.limit, library.limiter.inflight e library.limiter.rejections com a tag budget.
+ */
+public class AdaptiveLimiter implements MeterBinder {
+
+    private final String name;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final LongAdder rejections = new LongAdder();
+
+    private volatile double limit;
+
+    private long lastDecreaseNanos;
+
+    public AdaptiveLimiter(String name, ConcurrencyLimitProperties.Budget budget) {
+        this.name = name;
+        this.minLimit = budget.minLimit();
+        this.maxLimit = budget.maxLimit();
+        this.latencyThresholdNanos = budget.latencyThreshold().toNanos();
+        this.backoffRatio = budget.backoffRatio();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, budget.initialLimit()));
+        this.lastDecreaseNanos = System.nanoTime() - latencyThresholdNanos;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejections.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Devolve a vaga e ajusta o limite com a latência da requisição; {@code failed} indica
+     * que ela terminou com erro do servidor (por exemplo, tempo esgotado esperando conexão).
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int current = inFlight.getAndDecrement();
+        synchronized (this) {
+            if (failed || latencyNanos > latencyThresholdNanos) {
+                long now = System.nanoTime();
+                if (now - lastDecreaseNanos >= latencyThresholdNanos) {
+                    limit = Math.max(minLimit, limit * backoffRatio);
+                    lastDecreaseNanos = now;
+                }
+            } else if (current * 2 >= limit) {
+                // Só cresce quando o limite está sendo usado; com pouca carga a latência não diz nada sobre ele
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("library.limiter.limit", this, AdaptiveLimiter::getLimit)
+                .description("Limite atual de requisições simultâneas")
+                .tag("budget", name)
+                .register(registry);
+        Gauge.builder("library.limiter.inflight", this, AdaptiveLimiter::getInFlight)
+                .description("Requisições em andamento")
+                .tag("budget", name)
+                .register(registry);
+        FunctionCounter.builder("library.limiter.rejections", rejections, LongAdder::sum)
+                .description("Requisições recusadas por excesso de concorrência")
+                .tag("budget", name)
+                .register(registry);
+    }
+}
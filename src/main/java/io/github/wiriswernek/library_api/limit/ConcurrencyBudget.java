@@ -0,0 +1,18 @@
+package io.github.wiriswernek.library_api.limit;
+
+import io.github.wiriswernek.library_api.model.enums.ConcurrencyBudgetEnum;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Coloca o endpoint sob o limite adaptativo do orçamento informado; endpoints sem a anotação
+ * (importação e exportação em massa, de duração longa) não são limitados.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ConcurrencyBudget {
+    ConcurrencyBudgetEnum value();
+}
@@ -0,0 +1,75 @@
+package io.github.wiriswernek.library_api.limit;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.enums.ConcurrencyBudgetEnum;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Aplica o {@link AdaptiveLimiter} do orçamento indicado por {@link ConcurrencyBudget} antes do controller.
+ * Acima do limite responde 503 com Retry-After e o corpo pré-serializado, sem chegar ao serviço nem ao pool
+ * de conexões; respostas 5xx contam como falha para o limite.
+ */
+public class ConcurrencyLimitInterceptor implements HandlerInterceptor {
+
+    public static final long RETRY_AFTER_SECONDS = 1;
+
+    private static final String LIMITER = ConcurrencyLimitInterceptor.class.getName() + ".limiter";
+
+    private static final String STARTED = ConcurrencyLimitInterceptor.class.getName() + ".started";
+
+    private final Map<ConcurrencyBudgetEnum, AdaptiveLimiter> limiters;
+
+    private final byte[] rejectedBody;
+
+    public ConcurrencyLimitInterceptor(Map<ConcurrencyBudgetEnum, AdaptiveLimiter> limiters, ObjectMapper objectMapper)
+            throws JsonProcessingException {
+        this.limiters = Map.copyOf(limiters);
+        this.rejectedBody = objectMapper.writeValueAsBytes(ErrosEnum.SERVICO_SOBRECARREGADO.getApiErrors());
+    }
+
+    public AdaptiveLimiter limiter(ConcurrencyBudgetEnum budget) {
+        return limiters.get(budget);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        ConcurrencyBudget budget = method.getMethodAnnotation(ConcurrencyBudget.class);
+        if (budget == null) {
+            return true;
+        }
+
+        AdaptiveLimiter limiter = limiters.get(budget.value());
+        if (!limiter.tryAcquire()) {
+            response.setStatus(ErrosEnum.SERVICO_SOBRECARREGADO.getStatus().value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(RETRY_AFTER_SECONDS));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setContentLength(rejectedBody.length);
+            response.getOutputStream().write(rejectedBody);
+            return false;
+        }
+        request.setAttribute(LIMITER, limiter);
+        request.setAttribute(STARTED, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.getAttribute(LIMITER) instanceof AdaptiveLimiter limiter) {
+            long latency = System.nanoTime() - (long) request.getAttribute(STARTED);
+            limiter.release(latency, ex != null || response.getStatus() >= 500);
+        }
+    }
+}
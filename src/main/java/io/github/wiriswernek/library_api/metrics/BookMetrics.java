@@ -0,0 +1,53 @@
+package io.github.wiriswernek.library_api.metrics;
+
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Contadores de negócio da API de livros, publicados como library.book.errors com as tags erro e origem.
+ * Os contadores são criados na inicialização para que o caminho da requisição seja apenas um incremento.
+ */
+@Component
+public class BookMetrics {
+
+    public static final String ERRORS = "library.book.errors";
+
+    private final Map<ErrosEnum, Counter> apiErrors = new EnumMap<>(ErrosEnum.class);
+
+    private final Counter importDuplicates;
+
+    public BookMetrics(MeterRegistry registry) {
+        for (ErrosEnum erro : ErrosEnum.values()) {
+            apiErrors.put(erro, counter(registry, erro, "api"));
+        }
+        this.importDuplicates = counter(registry, ErrosEnum.ISBN_DUPLICADO, "bulk");
+    }
+
+    public void recordError(ErrosEnum erro) {
+        if (erro != null) {
+            apiErrors.get(erro).increment();
+        }
+    }
+
+    /**
+     * Linhas da importação em massa rejeitadas por ISBN já cadastrado ou repetido no arquivo.
+     */
+    public void recordImportDuplicates(long count) {
+        if (count > 0) {
+            importDuplicates.increment(count);
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, ErrosEnum erro, String origem) {
+        return Counter.builder(ERRORS)
+                .description("Erros de negócio da API de livros")
+                .tag("erro", erro.name())
+                .tag("origem", origem)
+                .register(registry);
+    }
+}
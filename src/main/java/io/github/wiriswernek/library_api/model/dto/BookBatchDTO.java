@@ -0,0 +1,16 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookBatchDTO {
+    private List<BookDTO> content;
+
+    private List<Long> missing;
+}
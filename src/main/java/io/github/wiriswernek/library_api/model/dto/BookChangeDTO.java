@@ -0,0 +1,29 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookChangeDTO {
+    private Long id;
+
+    private String title;
+
+    private String author;
+
+    private String isbn;
+
+    private Long version;
+
+    /**
+     * Livro excluído: só o ID é preenchido.
+     */
+    private boolean deleted;
+
+    private Instant changedAt;
+}
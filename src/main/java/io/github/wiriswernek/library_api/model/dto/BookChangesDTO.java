@@ -0,0 +1,21 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookChangesDTO {
+    private List<BookChangeDTO> changes;
+
+    /**
+     * Token para a próxima chamada; sempre presente, mesmo sem alterações.
+     */
+    private String next;
+
+    private boolean hasMore;
+}
@@ -1,5 +1,6 @@
 package io.github.wiriswernek.library_api.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -19,4 +20,14 @@ public class BookDTO {
 
     @NotEmpty
     private String isbn;
+
+    /**
+     * Não faz parte do corpo da resposta; vem das projeções do repositório para compor o ETag das páginas.
+     */
+    @JsonIgnore
+    private Long version;
+
+    public BookDTO(Long id, String title, String author, String isbn) {
+        this(id, title, author, isbn, null);
+    }
 }
@@ -0,0 +1,18 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportErrorDTO {
+    private long row;
+
+    private String isbn;
+
+    private List<String> errors;
+}
@@ -0,0 +1,23 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookImportResultDTO {
+    private long received;
+
+    private long imported;
+
+    private long rejected;
+
+    private List<BookImportErrorDTO> errors;
+
+    /** Indica que apenas as primeiras library.bulk.max-errors rejeições foram detalhadas. */
+    private boolean errorsTruncated;
+}
@@ -0,0 +1,17 @@
+package io.github.wiriswernek.library_api.model.dto;
+
+import io.github.wiriswernek.library_api.model.enums.SuggestionFieldEnum;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BookSuggestionDTO {
+    private String text;
+
+    private SuggestionFieldEnum field;
+
+    private int books;
+}
@@ -26,4 +26,25 @@ public class BookEntity {
 
     @Column(name = "ISBN")
     private String isbn;
+
+    /**
+     * Incrementada a cada escrita; compõe o ETag do livro.
+     */
+    @Version
+    @Column(name = "VERSION")
+    private Long version;
+
+    /**
+     * Posição da última escrita no feed de alterações; preenchida pelo banco a cada escrita (migração V7).
+     */
+    @Column(name = "CHANGE_SEQ", insertable = false, updatable = false)
+    private Long changeSeq;
+
+    public BookEntity(Long id, String title, String author, String isbn) {
+        this(id, title, author, isbn, null);
+    }
+
+    public BookEntity(Long id, String title, String author, String isbn, Long version) {
+        this(id, title, author, isbn, version, null);
+    }
 }
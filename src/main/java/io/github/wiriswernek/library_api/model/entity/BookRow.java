@@ -0,0 +1,32 @@
+package io.github.wiriswernek.library_api.model.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * Mapeamento R2DBC da mesma tabela BOOK usada por {@link BookEntity} na pilha bloqueante.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "book")
+public class BookRow {
+
+    @Id
+    private Long id;
+
+    private String title;
+
+    private String author;
+
+    private String isbn;
+
+    @Version
+    private Long version;
+}
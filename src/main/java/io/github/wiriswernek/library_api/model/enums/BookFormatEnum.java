@@ -0,0 +1,33 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceitos na importação e na exportação em massa do catálogo.
+ */
+public enum BookFormatEnum {
+    JSON(MediaType.APPLICATION_JSON),
+    NDJSON(MediaType.APPLICATION_NDJSON),
+    CSV(new MediaType("text", "csv"));
+
+    private final MediaType mediaType;
+
+    BookFormatEnum(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    public static BookFormatEnum fromMediaType(MediaType mediaType) {
+        for (BookFormatEnum format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new BusinessExcetion(ErrosEnum.FORMATO_NAO_SUPORTADO);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+/**
+ * Orçamentos de concorrência independentes dos endpoints de livros.
+ */
+public enum ConcurrencyBudgetEnum {
+    /** getById, getAll, busca, autocomplete, feed de alterações e consultas em lote por IDs. */
+    READ,
+    /** create, update e delete. */
+    WRITE
+}
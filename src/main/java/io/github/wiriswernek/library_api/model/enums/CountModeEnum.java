@@ -0,0 +1,13 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+/**
+ * Como o total de registros é calculado nas listagens paginadas.
+ */
+public enum CountModeEnum {
+    /** count(*) exato a cada página (contrato original de Page). */
+    EXACT,
+    /** Total aproximado: estatística do planejador ou contagem exata em cache atualizada em segundo plano. */
+    APPROXIMATE,
+    /** Sem total: retorna um Slice buscando apenas size + 1 registros. */
+    NONE
+}
@@ -0,0 +1,11 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+/**
+ * Como a réplica de cada transação somente leitura é escolhida.
+ */
+public enum ReplicaBalancingEnum {
+    /** Réplicas em rodízio, uma por transação. */
+    ROUND_ROBIN,
+    /** Réplica com menos conexões ativas no pool; empates seguem o rodízio. */
+    LEAST_CONNECTIONS
+}
@@ -0,0 +1,10 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+public enum SearchEngineEnum {
+    /** Trigramas quando o banco é PostgreSQL, Query by Example nos demais. */
+    AUTO,
+    /** Consulta nativa indexada por pg_trgm com ranqueamento por similaridade (somente PostgreSQL). */
+    TRIGRAM,
+    /** Query by Example com LIKE '%termo%', portável e sem índice. */
+    EXAMPLE
+}
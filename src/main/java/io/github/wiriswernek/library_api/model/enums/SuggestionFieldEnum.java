@@ -0,0 +1,9 @@
+package io.github.wiriswernek.library_api.model.enums;
+
+/**
+ * Campo do livro de onde veio uma sugestão do autocomplete.
+ */
+public enum SuggestionFieldEnum {
+    TITLE,
+    AUTHOR
+}
@@ -0,0 +1,76 @@
+package io.github.wiriswernek.library_api.model.mapper;
+
+import io.github.wiriswernek.library_api.model.dto.BookBatchDTO;
+import io.github.wiriswernek.library_api.model.dto.BookChangeDTO;
+import io.github.wiriswernek.library_api.model.dto.BookChangesDTO;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.entity.BookRow;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Conversões entre as representações de livro sem uso de reflexão.
+ * Substitui o ModelMapper nos caminhos de requisição: cada conversão é uma cópia direta de campos.
+ */
+public class BookMapper {
+
+    public BookEntity toEntity(BookRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new BookEntity(null, request.title(), request.author(), request.isbn());
+    }
+
+    public BookRow toRow(BookRequest request) {
+        if (request == null) {
+            return null;
+        }
+        return new BookRow(null, request.title(), request.author(), request.isbn(), null);
+    }
+
+    /**
+     * A pilha reativa devolve {@link BookEntity} para compartilhar o cache e as conversões para DTO.
+     */
+    public BookEntity toEntity(BookRow row) {
+        if (row == null) {
+            return null;
+        }
+        return new BookEntity(row.getId(), row.getTitle(), row.getAuthor(), row.getIsbn(), row.getVersion());
+    }
+
+    public BookDTO toDTO(BookEntity entity) {
+        if (entity == null) {
+            return null;
+        }
+        return new BookDTO(entity.getId(), entity.getTitle(), entity.getAuthor(), entity.getIsbn(), entity.getVersion());
+    }
+
+    public BookBatchDTO toBatchDTO(BookBatch batch) {
+        return new BookBatchDTO(batch.books().stream().map(this::toDTO).toList(), batch.missing());
+    }
+
+    public BookChangeDTO toChangeDTO(BookChange change) {
+        return new BookChangeDTO(change.id(), change.title(), change.author(), change.isbn(), change.version(),
+                change.deleted(), change.changedAt());
+    }
+
+    public BookChangesDTO toChangesDTO(BookChangePage page) {
+        return new BookChangesDTO(page.changes().stream().map(this::toChangeDTO).toList(), page.next().encode(), page.hasMore());
+    }
+
+    public Page<BookDTO> toDTOPage(Page<BookEntity> page) {
+        return page.map(this::toDTO);
+    }
+
+    /**
+     * Mantém o tipo concreto: uma Page continua sendo Page (com total) e um Slice continua sem total.
+     */
+    public Slice<BookDTO> toDTOSlice(Slice<BookEntity> slice) {
+        return slice.map(this::toDTO);
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.wiriswernek.library_api.model.record;
+
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+
+import java.util.List;
+
+/**
+ * Resultado da busca por vários IDs: livros na ordem pedida e os IDs que não existem.
+ */
+public record BookBatch(List<BookEntity> books, List<Long> missing) {
+}
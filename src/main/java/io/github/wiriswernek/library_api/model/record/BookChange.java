@@ -0,0 +1,11 @@
+package io.github.wiriswernek.library_api.model.record;
+
+import java.time.Instant;
+
+/**
+ * Uma linha do feed de alterações: o estado atual de um livro ou a lápide de um livro excluído
+ * (só com o ID), na posição ({@code changeXid}, {@code changeSeq}).
+ */
+public record BookChange(Long id, String title, String author, String isbn, Long version, boolean deleted,
+                         long changeXid, long changeSeq, Instant changedAt) {
+}
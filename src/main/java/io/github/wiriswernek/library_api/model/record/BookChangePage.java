@@ -0,0 +1,9 @@
+package io.github.wiriswernek.library_api.model.record;
+
+import java.util.List;
+
+/**
+ * Uma página do feed de alterações e o token para continuar dela.
+ */
+public record BookChangePage(List<BookChange> changes, BookChangeToken next, boolean hasMore) {
+}
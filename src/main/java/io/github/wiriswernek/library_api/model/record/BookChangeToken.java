@@ -0,0 +1,42 @@
+package io.github.wiriswernek.library_api.model.record;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Posição do cliente no feed de alterações: a última posição entregue (transação e ordem dentro dela) e desde
+ * quando ele está atrás do feed (o instante da última resposta que o deixou em dia), usado para saber se lápides
+ * que ele ainda não viu podem ter sido expurgadas. Trafega como token opaco em Base64 URL-safe, como o {@link BookCursor}.
+ */
+public record BookChangeToken(long changeXid, long changeSeq, Instant syncedAt) {
+
+    private static final String PREFIX = "chg:";
+
+    public String encode() {
+        String value = PREFIX + changeXid + ":" + changeSeq + ":" + syncedAt.toEpochMilli();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retorna {@code null} para um token vazio, indicando uma sincronização completa.
+     */
+    public static BookChangeToken decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            String[] parts = value.split(":");
+            if (!value.startsWith(PREFIX) || parts.length != 4) {
+                throw new BusinessExcetion(ErrosEnum.TOKEN_DE_SINCRONIZACAO_INVALIDO);
+            }
+            return new BookChangeToken(Long.parseLong(parts[1]), Long.parseLong(parts[2]), Instant.ofEpochMilli(Long.parseLong(parts[3])));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessExcetion(ErrosEnum.TOKEN_DE_SINCRONIZACAO_INVALIDO);
+        }
+    }
+}
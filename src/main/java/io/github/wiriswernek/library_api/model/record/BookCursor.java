@@ -0,0 +1,38 @@
+package io.github.wiriswernek.library_api.model.record;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Posição da paginação por chave (keyset): o último ID entregue ao cliente.
+ * Trafega como um token opaco em Base64 URL-safe para que o formato possa mudar sem quebrar clientes.
+ */
+public record BookCursor(Long lastId) {
+
+    private static final String PREFIX = "id:";
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((PREFIX + lastId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Retorna {@code null} para um cursor vazio, indicando a primeira página.
+     */
+    public static BookCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (!value.startsWith(PREFIX)) {
+                throw new BusinessExcetion(ErrosEnum.CURSOR_INVALIDO);
+            }
+            return new BookCursor(Long.valueOf(value.substring(PREFIX.length())));
+        } catch (IllegalArgumentException e) {
+            throw new BusinessExcetion(ErrosEnum.CURSOR_INVALIDO);
+        }
+    }
+}
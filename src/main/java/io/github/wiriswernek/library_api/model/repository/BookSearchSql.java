@@ -0,0 +1,107 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * SQL da busca por substring, compartilhado pelos repositórios JPA e R2DBC.
+ * A condição usa lower(coluna) LIKE, atendida pelo índice GIN de trigramas, e a relevância
+ * soma o word_similarity de cada termo. Os parâmetros são nomeados ({@code :title}, {@code :limit}, ...).
+ */
+final class BookSearchSql {
+
+    private static final Set<String> SORTABLE_COLUMNS = Set.of("id", "title", "author", "isbn");
+
+    private final List<SearchTerm> terms;
+
+    private BookSearchSql(List<SearchTerm> terms) {
+        this.terms = terms;
+    }
+
+    static BookSearchSql of(BookRequest filter) {
+        List<SearchTerm> terms = new ArrayList<>(3);
+        if (filter != null) {
+            SearchTerm.add(terms, "title", filter.title());
+            SearchTerm.add(terms, "author", filter.author());
+            SearchTerm.add(terms, "isbn", filter.isbn());
+        }
+        return new BookSearchSql(terms);
+    }
+
+    /**
+     * Com {@code ranked} e ao menos um termo, ordena por relevância; senão segue a ordenação pedida.
+     */
+    String select(Sort sort, boolean ranked) {
+        String orderBy = ranked && !terms.isEmpty()
+                ? terms.stream().map(SearchTerm::rank).collect(Collectors.joining(" + ", "(", ") DESC, b.id DESC"))
+                : toOrderBy(sort);
+        return "SELECT b.id, b.title, b.author, b.isbn, b.version FROM book b" + where() + " ORDER BY " + orderBy + " LIMIT :limit OFFSET :offset";
+    }
+
+    String count() {
+        return "SELECT count(*) FROM book b" + where();
+    }
+
+    /**
+     * Plano, sem executar, da mesma condição de {@link #count()}; a raiz traz as linhas estimadas em "Plan Rows".
+     */
+    String explain() {
+        return "EXPLAIN (FORMAT JSON) SELECT b.id FROM book b" + where();
+    }
+
+    Map<String, Object> parameters(boolean ranked) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (SearchTerm term : terms) {
+            parameters.put(term.column(), "%" + DatabaseUtils.escapeLike(term.term()) + "%");
+            if (ranked) {
+                parameters.put(term.column() + "_rank", term.term());
+            }
+        }
+        return parameters;
+    }
+
+    private String where() {
+        if (terms.isEmpty()) {
+            return "";
+        }
+        return terms.stream().map(SearchTerm::condition).collect(Collectors.joining(" AND ", " WHERE ", ""));
+    }
+
+    private static String toOrderBy(Sort sort) {
+        List<String> orders = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = order.getProperty().toLowerCase(Locale.ROOT);
+            if (SORTABLE_COLUMNS.contains(column)) {
+                orders.add("b." + column + (order.isAscending() ? " ASC" : " DESC"));
+            }
+        }
+        orders.add("b.id DESC");
+        return String.join(", ", orders);
+    }
+
+    private record SearchTerm(String column, String term) {
+
+        static void add(List<SearchTerm> terms, String column, String value) {
+            if (value != null && !value.isBlank()) {
+                terms.add(new SearchTerm(column, value.trim().toLowerCase(Locale.ROOT)));
+            }
+        }
+
+        String condition() {
+            return "lower(b." + column + ") LIKE :" + column + " ESCAPE '\\'";
+        }
+
+        String rank() {
+            return "word_similarity(:" + column + "_rank, lower(b." + column + "))";
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Consultas de IBookRepository que não são expressáveis por métodos derivados.
+ */
+public interface IBookQueryRepository {
+
+    /**
+     * Expressão de construtor JPQL das projeções: listagens e buscas devolvem {@link BookDTO} direto da consulta,
+     * sem entidades gerenciadas no contexto de persistência.
+     */
+    String BOOK_DTO = "new io.github.wiriswernek.library_api.model.dto.BookDTO(b.id, b.title, b.author, b.isbn, b.version)";
+
+    Slice<BookDTO> findSlice(Example<BookEntity> example, Pageable pageable);
+
+    Page<BookDTO> findPage(Example<BookEntity> example, Pageable pageable);
+
+    /**
+     * Total estimado pelas estatísticas do planejador do PostgreSQL, sem varrer a tabela.
+     * Retorna {@code null} quando a estimativa não está disponível (outro banco ou tabela nunca analisada).
+     */
+    Long estimateCount();
+
+    /**
+     * Linhas que atendem ao filtro da busca segundo o plano do PostgreSQL ({@code EXPLAIN}), sem executar a consulta.
+     * Retorna {@code null} em outros bancos.
+     */
+    Long estimateCount(BookRequest filter);
+
+    /**
+     * Busca por trechos de título, autor e ISBN usando os índices de trigramas (pg_trgm), ordenada por relevância.
+     * Campos nulos ou vazios do filtro são ignorados; sem nenhum termo, a ordenação informada é respeitada.
+     */
+    List<BookDTO> searchRanked(BookRequest filter, long offset, int limit, Sort sort);
+
+    long countRanked(BookRequest filter);
+
+    /**
+     * Mesma contagem de {@link #countRanked(BookRequest)}, sempre no banco, sem o cache de consultas.
+     */
+    long countMatching(BookRequest filter);
+
+    /**
+     * Insere os livros em lote via JDBC, sem passar pelo contexto de persistência.
+     * Com IDENTITY o Hibernate não agrupa inserts; aqui o driver envia o lote inteiro
+     * (no PostgreSQL, reWriteBatchedInserts o transforma em INSERTs de múltiplas linhas).
+     */
+    void insertAll(List<BookRequest> books);
+
+    /**
+     * Percorre a tabela inteira por um cursor do servidor, buscando {@code fetchSize} linhas por ida ao banco.
+     * Precisa ser consumido dentro de uma transação (no PostgreSQL o cursor só existe com autocommit desligado).
+     */
+    Stream<BookDTO> streamAll(int fetchSize);
+
+    /**
+     * Apenas a coluna ISBN, com as mesmas condições de {@link #streamAll}.
+     */
+    Stream<String> streamIsbns(int fetchSize);
+
+    /**
+     * Feed de alterações: livros e lápides com posição (change_xid, change_seq) maior que a informada e escritos
+     * por transações anteriores a {@code beforeXid}, em ordem de posição. Cada lado lê no máximo {@code limit}
+     * linhas pelo índice da posição.
+     */
+    List<BookChange> findChangesAfter(long afterXid, long afterSeq, long beforeXid, int limit);
+
+    /**
+     * Menor transação ainda em andamento no PostgreSQL ({@code pg_snapshot_xmin}): todas as anteriores já
+     * terminaram, e nenhuma escrita nova recebe um change_xid menor. Em outros bancos não há limite.
+     */
+    long currentXmin();
+
+    /**
+     * Relógio do banco, a mesma referência de changed_at e deleted_at.
+     */
+    OffsetDateTime currentTimestamp();
+
+    int deleteTombstonesBefore(OffsetDateTime before);
+}
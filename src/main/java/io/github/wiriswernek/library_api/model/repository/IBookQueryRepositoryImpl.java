@@ -0,0 +1,251 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.cache.BookQueryCache;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.convert.QueryByExamplePredicateBuilder;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+public class IBookQueryRepositoryImpl implements IBookQueryRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO book (title, author, isbn) VALUES (?, ?, ?)";
+
+    private static final String CHANGES_SQL = """
+            SELECT * FROM (
+                (SELECT id, title, author, isbn, version, FALSE AS deleted, change_xid, change_seq, changed_at FROM book
+                 WHERE (change_xid, change_seq) > (?, ?) AND change_xid < ? ORDER BY change_xid, change_seq LIMIT ?)
+                UNION ALL
+                (SELECT id, NULL, NULL, NULL, NULL, TRUE, change_xid, change_seq, deleted_at FROM book_tombstone
+                 WHERE (change_xid, change_seq) > (?, ?) AND change_xid < ? ORDER BY change_xid, change_seq LIMIT ?)
+            ) changes ORDER BY change_xid, change_seq LIMIT ?""";
+
+    /**
+     * O primeiro "Plan Rows" do plano em JSON é o da raiz; os nós filhos vêm depois, em "Plans".
+     */
+    private static final Pattern PLAN_ROWS = Pattern.compile("\"Plan Rows\":\\s*(\\d+)");
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final BookQueryCache bookQueryCache;
+
+    private Boolean postgres;
+
+    public IBookQueryRepositoryImpl(JdbcTemplate jdbcTemplate, BookQueryCache bookQueryCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.bookQueryCache = bookQueryCache;
+    }
+
+    @Override
+    public Slice<BookDTO> findSlice(Example<BookEntity> example, Pageable pageable) {
+        TypedQuery<BookDTO> query = projection(example, pageable.getSort());
+        if (pageable.isUnpaged()) {
+            return new SliceImpl<>(query.getResultList(), pageable, false);
+        }
+
+        // Um registro a mais indica se existe próxima página, dispensando o count(*)
+        query.setFirstResult((int) pageable.getOffset());
+        query.setMaxResults(pageable.getPageSize() + 1);
+        List<BookDTO> books = query.getResultList();
+
+        boolean hasNext = books.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? books.subList(0, pageable.getPageSize()) : books, pageable, hasNext);
+    }
+
+    @Override
+    public Page<BookDTO> findPage(Example<BookEntity> example, Pageable pageable) {
+        TypedQuery<BookDTO> query = projection(example, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> count(example));
+    }
+
+    @Override
+    public Long estimateCount() {
+        if (!isPostgres()) {
+            return null;
+        }
+        List<?> result = entityManager
+                .createNativeQuery("SELECT CAST(reltuples AS bigint) FROM pg_class WHERE oid = to_regclass('book')")
+                .getResultList();
+        if (result.isEmpty() || result.get(0) == null) {
+            return null;
+        }
+        long estimate = ((Number) result.get(0)).longValue();
+        // reltuples é -1 enquanto a tabela não passou por VACUUM/ANALYZE
+        return estimate < 0 ? null : estimate;
+    }
+
+    @Override
+    public Long estimateCount(BookRequest filter) {
+        if (!isPostgres()) {
+            return null;
+        }
+        BookSearchSql search = BookSearchSql.of(filter);
+        String plan = new NamedParameterJdbcTemplate(jdbcTemplate).queryForObject(search.explain(), search.parameters(false), String.class);
+        Matcher rows = PLAN_ROWS.matcher(plan == null ? "" : plan);
+        return rows.find() ? Long.valueOf(rows.group(1)) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<BookDTO> searchRanked(BookRequest filter, long offset, int limit, Sort sort) {
+        BookSearchSql search = BookSearchSql.of(filter);
+
+        Query query = BookQueryCache.cacheable(entityManager.createNativeQuery(search.select(sort, true)));
+        search.parameters(true).forEach(query::setParameter);
+        query.setParameter("limit", limit);
+        query.setParameter("offset", offset);
+        return ((List<Object[]>) query.getResultList()).stream().map(IBookQueryRepositoryImpl::toDTO).toList();
+    }
+
+    @Override
+    public long countRanked(BookRequest filter) {
+        BookSearchSql search = BookSearchSql.of(filter);
+
+        Query query = BookQueryCache.cacheable(entityManager.createNativeQuery(search.count()));
+        search.parameters(false).forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public long countMatching(BookRequest filter) {
+        BookSearchSql search = BookSearchSql.of(filter);
+
+        Query query = entityManager.createNativeQuery(search.count());
+        search.parameters(false).forEach(query::setParameter);
+        return ((Number) query.getSingleResult()).longValue();
+    }
+
+    @Override
+    public void insertAll(List<BookRequest> books) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, books, books.size(), (statement, book) -> {
+            statement.setString(1, book.title());
+            statement.setString(2, book.author());
+            statement.setString(3, book.isbn());
+        });
+        // O Hibernate não vê escritas feitas por JDBC
+        bookQueryCache.evict();
+    }
+
+    @Override
+    public Stream<BookDTO> streamAll(int fetchSize) {
+        return entityManager.createQuery("SELECT " + BOOK_DTO + " FROM BookEntity b ORDER BY b.id", BookDTO.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public Stream<String> streamIsbns(int fetchSize) {
+        return entityManager.createQuery("SELECT b.isbn FROM BookEntity b", String.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .getResultStream();
+    }
+
+    @Override
+    public List<BookChange> findChangesAfter(long afterXid, long afterSeq, long beforeXid, int limit) {
+        return jdbcTemplate.query(CHANGES_SQL, IBookQueryRepositoryImpl::toChange,
+                afterXid, afterSeq, beforeXid, limit, afterXid, afterSeq, beforeXid, limit, limit);
+    }
+
+    @Override
+    public long currentXmin() {
+        if (!isPostgres()) {
+            return Long.MAX_VALUE;
+        }
+        return jdbcTemplate.queryForObject("SELECT pg_snapshot_xmin(pg_current_snapshot())::text::bigint", Long.class);
+    }
+
+    @Override
+    public OffsetDateTime currentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT CURRENT_TIMESTAMP", OffsetDateTime.class);
+    }
+
+    @Override
+    public int deleteTombstonesBefore(OffsetDateTime before) {
+        return jdbcTemplate.update("DELETE FROM book_tombstone WHERE deleted_at < ?", before);
+    }
+
+    private static BookChange toChange(ResultSet rs, int row) throws SQLException {
+        return new BookChange(rs.getLong("id"), rs.getString("title"), rs.getString("author"), rs.getString("isbn"),
+                rs.getObject("version", Long.class), rs.getBoolean("deleted"), rs.getLong("change_xid"), rs.getLong("change_seq"),
+                rs.getObject("changed_at", OffsetDateTime.class).toInstant());
+    }
+
+    private TypedQuery<BookDTO> projection(Example<BookEntity> example, Sort sort) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BookDTO> criteria = builder.createQuery(BookDTO.class);
+        Root<BookEntity> root = criteria.from(BookEntity.class);
+        criteria.select(builder.construct(BookDTO.class,
+                root.get("id"), root.get("title"), root.get("author"), root.get("isbn"), root.get("version")));
+
+        Predicate predicate = QueryByExamplePredicateBuilder.getPredicate(root, builder, example, EscapeCharacter.DEFAULT);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        criteria.orderBy(QueryUtils.toOrders(sort, root, builder));
+        return BookQueryCache.cacheable(entityManager.createQuery(criteria));
+    }
+
+    private long count(Example<BookEntity> example) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> criteria = builder.createQuery(Long.class);
+        Root<BookEntity> root = criteria.from(BookEntity.class);
+        criteria.select(builder.count(root));
+
+        Predicate predicate = QueryByExamplePredicateBuilder.getPredicate(root, builder, example, EscapeCharacter.DEFAULT);
+        if (predicate != null) {
+            criteria.where(predicate);
+        }
+        return BookQueryCache.cacheable(entityManager.createQuery(criteria)).getSingleResult();
+    }
+
+    /**
+     * Colunas na ordem de {@link BookSearchSql#select}.
+     */
+    private static BookDTO toDTO(Object[] row) {
+        return new BookDTO(((Number) row[0]).longValue(), (String) row[1], (String) row[2], (String) row[3],
+                row[4] == null ? null : ((Number) row[4]).longValue());
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = DatabaseUtils.isPostgres(entityManager.getEntityManagerFactory());
+        }
+        return postgres;
+    }
+}
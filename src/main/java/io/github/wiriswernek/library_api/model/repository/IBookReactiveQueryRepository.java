@@ -0,0 +1,17 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.entity.BookRow;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.data.domain.Sort;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface IBookReactiveQueryRepository {
+
+    /**
+     * Mesma busca por substring de {@link IBookQueryRepository#searchRanked}, sem bloquear.
+     */
+    Flux<BookRow> searchRanked(BookRequest filter, long offset, int limit, Sort sort);
+
+    Mono<Long> countRanked(BookRequest filter);
+}
@@ -0,0 +1,51 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.entity.BookRow;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class IBookReactiveQueryRepositoryImpl implements IBookReactiveQueryRepository {
+
+    private final DatabaseClient databaseClient;
+
+    public IBookReactiveQueryRepositoryImpl(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Flux<BookRow> searchRanked(BookRequest filter, long offset, int limit, Sort sort) {
+        BookSearchSql search = BookSearchSql.of(filter);
+
+        DatabaseClient.GenericExecuteSpec spec = bind(databaseClient.sql(search.select(sort, true)), search.parameters(true))
+                .bind("limit", limit)
+                .bind("offset", offset);
+        return spec.map(IBookReactiveQueryRepositoryImpl::toRow).all();
+    }
+
+    @Override
+    public Mono<Long> countRanked(BookRequest filter) {
+        BookSearchSql search = BookSearchSql.of(filter);
+
+        return bind(databaseClient.sql(search.count()), search.parameters(false))
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bind(DatabaseClient.GenericExecuteSpec spec, Map<String, Object> parameters) {
+        for (Map.Entry<String, Object> parameter : parameters.entrySet()) {
+            spec = spec.bind(parameter.getKey(), parameter.getValue());
+        }
+        return spec;
+    }
+
+    private static BookRow toRow(Readable row) {
+        return new BookRow(row.get("id", Long.class), row.get("title", String.class),
+                row.get("author", String.class), row.get("isbn", String.class), row.get("version", Long.class));
+    }
+}
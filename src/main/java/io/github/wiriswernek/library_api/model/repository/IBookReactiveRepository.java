@@ -0,0 +1,40 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.entity.BookRow;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Contraparte R2DBC de {@link IBookRepository}, usada apenas no perfil reactive.
+ */
+public interface IBookReactiveRepository extends R2dbcRepository<BookRow, Long>, IBookReactiveQueryRepository {
+
+    public Flux<BookRow> findAllBy(Pageable pageable);
+
+    public Flux<BookRow> findByIdLessThan(Long id, Pageable pageable);
+
+    /**
+     * Atualiza em um único comando; retorna 0 quando o livro não existe.
+     */
+    @Modifying
+    @Query(value = "UPDATE book SET title = :title, author = :author, isbn = :isbn, version = version + 1 WHERE id = :id")
+    public Mono<Integer> updateBook(Long id, String title, String author, String isbn);
+
+    /**
+     * Atualiza apenas se o livro ainda estiver na versão informada; retorna 0 quando não existe ou a versão mudou.
+     */
+    @Modifying
+    @Query(value = "UPDATE book SET title = :title, author = :author, isbn = :isbn, version = version + 1 WHERE id = :id AND version = :version")
+    public Mono<Integer> updateBookIfVersion(Long id, String title, String author, String isbn, Long version);
+
+    /**
+     * Exclui em um único comando; retorna 0 quando o livro não existe.
+     */
+    @Modifying
+    @Query(value = "DELETE FROM book WHERE id = :id")
+    public Mono<Integer> deleteBookById(Long id);
+}
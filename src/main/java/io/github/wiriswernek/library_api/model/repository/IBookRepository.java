@@ -1,13 +1,64 @@
 package io.github.wiriswernek.library_api.model.repository;
 
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
-public interface IBookRepository extends JpaRepository<BookEntity, Long> {
-    public Boolean existsByIsbn(String isbn);
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
 
-    @Query(value = "SELECT EXISTS (SELECT b FROM BookEntity b WHERE b.id <> :id AND b.isbn = :isbn )")
-    public Boolean existsByIsbnAndIdNot(@Param("isbn") String isbn, @Param("id") Long id);
+public interface IBookRepository extends JpaRepository<BookEntity, Long>, IBookQueryRepository {
+    /** Índice único criado pela migração V3. */
+    String ISBN_UNIQUE_INDEX = "ux_book_isbn";
+
+    @Query(value = "SELECT " + BOOK_DTO + " FROM BookEntity b", countQuery = "SELECT count(b) FROM BookEntity b")
+    public Page<BookDTO> findPageBy(Pageable pageable);
+
+    @Query(value = "SELECT " + BOOK_DTO + " FROM BookEntity b")
+    public Slice<BookDTO> findAllBy(Pageable pageable);
+
+    /**
+     * Paginação por chave: a ordem é fixa por ID decrescente e o {@code pageable} só limita a quantidade.
+     */
+    @Query(value = "SELECT " + BOOK_DTO + " FROM BookEntity b ORDER BY b.id DESC")
+    public List<BookDTO> findAllByOrderByIdDesc(Pageable pageable);
+
+    @Query(value = "SELECT " + BOOK_DTO + " FROM BookEntity b WHERE b.id < :id ORDER BY b.id DESC")
+    public List<BookDTO> findByIdLessThanOrderByIdDesc(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * Atualiza em um único comando; retorna 0 quando o livro não existe.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE BookEntity b SET b.title = :title, b.author = :author, b.isbn = :isbn, b.version = b.version + 1 WHERE b.id = :id")
+    public int updateBook(@Param("id") Long id, @Param("title") String title, @Param("author") String author, @Param("isbn") String isbn);
+
+    /**
+     * Atualiza apenas se o livro ainda estiver na versão informada; retorna 0 quando não existe ou a versão mudou.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE BookEntity b SET b.title = :title, b.author = :author, b.isbn = :isbn, b.version = b.version + 1 WHERE b.id = :id AND b.version = :version")
+    public int updateBookIfVersion(@Param("id") Long id, @Param("title") String title, @Param("author") String author,
+                                   @Param("isbn") String isbn, @Param("version") Long version);
+
+    /**
+     * Exclui em um único comando; retorna 0 quando o livro não existe.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query(value = "DELETE FROM BookEntity b WHERE b.id = :id")
+    public int deleteBookById(@Param("id") Long id);
+
+    @Query(value = "SELECT b.isbn FROM BookEntity b WHERE b.isbn IN :isbns")
+    public Set<String> findExistingIsbns(@Param("isbns") Collection<String> isbns);
 }
@@ -0,0 +1,14 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+
+public interface BookChangeService {
+    /**
+     * Inclusões, atualizações e exclusões depois de {@code since}, em ordem; {@code null} começa do início
+     * do feed, entregando o catálogo inteiro como uma sequência de alterações.
+     */
+    BookChangePage findChanges(BookChangeToken since, int size);
+
+    void purgeTombstones();
+}
@@ -0,0 +1,9 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+
+public interface BookCountService {
+    long approximateTotal();
+
+    long approximateCount(BookRequest filter);
+}
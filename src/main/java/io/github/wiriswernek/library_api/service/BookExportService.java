@@ -0,0 +1,10 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BookExportService {
+    void export(BookFormatEnum format, OutputStream output) throws IOException;
+}
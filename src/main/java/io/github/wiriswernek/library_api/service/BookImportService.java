@@ -0,0 +1,10 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.dto.BookImportResultDTO;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+
+import java.io.InputStream;
+
+public interface BookImportService {
+    BookImportResultDTO importBooks(BookFormatEnum format, InputStream input) throws Exception;
+}
@@ -0,0 +1,22 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+/**
+ * Estratégia de execução do POST /api/books/search, escolhida na inicialização por library.search.engine.
+ */
+public interface BookSearchEngine {
+    Page<BookDTO> search(BookRequest filter, Pageable page);
+
+    Slice<BookDTO> searchSlice(BookRequest filter, Pageable page);
+
+    /**
+     * Contagem exata sempre no banco, fora do cache de consultas: é o valor que o {@link BookCountService}
+     * recalcula em segundo plano.
+     */
+    long count(BookRequest filter);
+}
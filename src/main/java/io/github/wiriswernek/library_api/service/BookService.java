@@ -2,21 +2,52 @@ package io.github.wiriswernek.library_api.service;
 
 
 import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
 import io.github.wiriswernek.library_api.model.record.BookRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
 
 public interface BookService {
     BookEntity save(BookRequest book) throws Exception;
 
     BookEntity findById(Long id) throws Exception;
 
-    Page<BookEntity> findAll(Pageable page);
+    /**
+     * Busca vários livros de uma vez: o que estiver em cache é servido dele e o restante em um único IN.
+     * IDs repetidos são considerados uma vez e os inexistentes voltam em {@link BookBatch#missing()}.
+     */
+    BookBatch findAllById(List<Long> ids);
+
+    /**
+     * Listagens e buscas chegam já como {@link BookDTO}, projetados pela consulta sem hidratar entidades.
+     */
+    Page<BookDTO> findAll(Pageable page);
+
+    Slice<BookDTO> findAll(Pageable page, CountModeEnum count);
+
+    Slice<BookDTO> findAllAfter(Long afterId, int size);
 
     Boolean delete(Long id) throws Exception;
 
     BookEntity update(Long id, BookRequest book) throws Exception;
 
-    Page<BookEntity> search(BookRequest filter, Pageable page);
+    /**
+     * Com {@code expectedVersion} a atualização só ocorre se o livro ainda estiver nessa versão.
+     */
+    BookEntity update(Long id, BookRequest book, Long expectedVersion) throws Exception;
+
+    Page<BookDTO> search(BookRequest filter, Pageable page);
+
+    Slice<BookDTO> search(BookRequest filter, Pageable page, CountModeEnum count);
+
+    /**
+     * Completações de título e autor para o autocomplete, servidas do índice em memória sem consultar o banco.
+     */
+    List<BookSuggestionDTO> suggest(String query, int limit);
 }
@@ -0,0 +1,37 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Contraparte não bloqueante de {@link BookService}, com as mesmas regras e erros.
+ */
+public interface ReactiveBookService {
+    Mono<BookEntity> save(BookRequest book);
+
+    Mono<BookEntity> findById(Long id);
+
+    Mono<BookBatch> findAllById(List<Long> ids);
+
+    Mono<Slice<BookEntity>> findAll(Pageable page, CountModeEnum count);
+
+    Mono<Slice<BookEntity>> findAllAfter(Long afterId, int size);
+
+    Mono<Void> delete(Long id);
+
+    Mono<BookEntity> update(Long id, BookRequest book);
+
+    Mono<BookEntity> update(Long id, BookRequest book, Long expectedVersion);
+
+    Mono<Slice<BookEntity>> search(BookRequest filter, Pageable page, CountModeEnum count);
+
+    Mono<List<BookSuggestionDTO>> suggest(String query, int limit);
+}
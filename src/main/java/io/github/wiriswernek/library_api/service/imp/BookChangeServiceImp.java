@@ -0,0 +1,67 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import io.github.wiriswernek.library_api.config.BookChangeProperties;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookChangeService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Feed de alterações sobre (change_xid, change_seq) e book_tombstone, preenchidos pelas triggers da migração V9.
+ * Só entrega escritas de transações abaixo do xmin do banco, todas já encerradas: uma escrita que ainda não chegou
+ * ao commit nunca fica atrás de uma posição já entregue, por mais que a transação demore. Uma transação longa em
+ * qualquer ponto do banco só atrasa o feed, sem perder escritas. As consultas rodam fora de transação somente
+ * leitura, no primário, porque o xmin de uma réplica não acompanha o do primário.
+ * O token guarda desde quando o cliente está atrás do feed; se isso passa da retenção das lápides,
+ * alguma exclusão pode ter sido expurgada e ele precisa sincronizar de novo.
+ */
+@Service
+public class BookChangeServiceImp implements BookChangeService {
+
+    private final IBookRepository bookRepository;
+
+    private final BookChangeProperties properties;
+
+    public BookChangeServiceImp(IBookRepository bookRepository, BookChangeProperties properties) {
+        this.bookRepository = bookRepository;
+        this.properties = properties;
+    }
+
+    @Override
+    public BookChangePage findChanges(BookChangeToken since, int size) {
+        OffsetDateTime now = bookRepository.currentTimestamp();
+        if (since != null && since.syncedAt().isBefore(now.minus(properties.tombstoneRetention()).toInstant())) {
+            throw new BusinessExcetion(ErrosEnum.TOKEN_DE_SINCRONIZACAO_EXPIRADO);
+        }
+
+        int pageSize = Math.max(1, Math.min(size, properties.maxPageSize()));
+        long afterXid = since == null ? 0 : since.changeXid();
+        long afterSeq = since == null ? 0 : since.changeSeq();
+        List<BookChange> changes = bookRepository.findChangesAfter(afterXid, afterSeq, bookRepository.currentXmin(), pageSize + 1);
+
+        boolean hasMore = changes.size() > pageSize;
+        List<BookChange> content = hasMore ? changes.subList(0, pageSize) : changes;
+        BookChange last = content.isEmpty() ? null : content.get(content.size() - 1);
+        long lastXid = last == null ? afterXid : last.changeXid();
+        long lastSeq = last == null ? afterSeq : last.changeSeq();
+        // Em dia só ao fim do feed; no meio dele continua valendo o instante em que o cliente ficou para trás
+        BookChangeToken next = hasMore && since != null
+                ? new BookChangeToken(lastXid, lastSeq, since.syncedAt())
+                : new BookChangeToken(lastXid, lastSeq, now.toInstant());
+        return new BookChangePage(content, next, hasMore);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${library.changes.purge-interval:PT1H}")
+    public void purgeTombstones() {
+        bookRepository.deleteTombstonesBefore(bookRepository.currentTimestamp().minus(properties.tombstoneRetention()));
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import io.github.wiriswernek.library_api.config.CountProperties;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookCountService;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Totais aproximados para as listagens: a primeira leitura usa a estimativa do planejador (ou uma contagem exata
+ * quando não há estimativa, como no H2) e, a partir daí, o valor em cache é substituído por uma contagem exata em
+ * segundo plano pelo {@link BookSearchEngine#count(BookRequest)}, que não passa pelo cache de consultas.
+ * Cada rodada recalcula só os filtros lidos desde a anterior, até library.count.refresh-budget, começando pelos
+ * atualizados há mais tempo.
+ */
+@Service
+public class BookCountServiceImp implements BookCountService {
+
+    private final IBookRepository bookRepository;
+
+    private final BookSearchEngine bookSearchEngine;
+
+    private final CountProperties properties;
+
+    private final Map<FilterKey, CachedCount> filterCounts = new ConcurrentHashMap<>();
+
+    private volatile Long total;
+
+    /**
+     * A contagem ignora maiúsculas, então o filtro entra normalizado.
+     */
+    private record FilterKey(String title, String author, String isbn) {
+        static FilterKey of(BookRequest filter) {
+            return new FilterKey(normalize(filter.title()), normalize(filter.author()), normalize(filter.isbn()));
+        }
+
+        private static String normalize(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public BookCountServiceImp(IBookRepository bookRepository, BookSearchEngine bookSearchEngine, CountProperties properties) {
+        this.bookRepository = bookRepository;
+        this.bookSearchEngine = bookSearchEngine;
+        this.properties = properties;
+    }
+
+    @Override
+    public long approximateTotal() {
+        Long cached = total;
+        if (cached != null) {
+            return cached;
+        }
+        Long estimate = bookRepository.estimateCount();
+        cached = estimate != null ? estimate : bookRepository.count();
+        total = cached;
+        return cached;
+    }
+
+    @Override
+    public long approximateCount(BookRequest filter) {
+        FilterKey key = FilterKey.of(filter);
+        CachedCount cached = filterCounts.get(key);
+        if (cached != null) {
+            cached.read();
+            return cached.value;
+        }
+
+        Long estimate = bookRepository.estimateCount(filter);
+        long value = estimate != null ? estimate : bookSearchEngine.count(filter);
+        if (filterCounts.size() < properties.maxFilters()) {
+            filterCounts.putIfAbsent(key, new CachedCount(filter, value));
+        }
+        return value;
+    }
+
+    /**
+     * Recalcula os totais lidos desde a última rodada, no máximo {@code refreshBudget} por vez, e descarta
+     * filtros que não são usados há algum tempo. Os que ficaram de fora são os primeiros da rodada seguinte.
+     */
+    @Scheduled(fixedDelayString = "${library.count.refresh-interval:PT1M}", initialDelayString = "${library.count.refresh-interval:PT1M}")
+    public void refresh() {
+        if (total != null) {
+            total = bookRepository.count();
+        }
+
+        long idleSince = System.nanoTime() - properties.filterIdleTimeout().toNanos();
+        filterCounts.values().removeIf(cached -> cached.lastAccess - idleSince < 0);
+        filterCounts.values().stream()
+                .filter(cached -> cached.readSinceRefresh)
+                .sorted(Comparator.comparingLong(cached -> cached.lastRefresh))
+                .limit(properties.refreshBudget())
+                .forEach(cached -> cached.refresh(bookSearchEngine));
+    }
+
+    private static final class CachedCount {
+        private final BookRequest filter;
+
+        private volatile long value;
+
+        private volatile long lastAccess;
+
+        private volatile long lastRefresh;
+
+        private volatile boolean readSinceRefresh;
+
+        private CachedCount(BookRequest filter, long value) {
+            this.filter = filter;
+            this.value = value;
+            this.lastAccess = System.nanoTime();
+            this.lastRefresh = Long.MIN_VALUE;
+            this.readSinceRefresh = true;
+        }
+
+        private void read() {
+            lastAccess = System.nanoTime();
+            readSinceRefresh = true;
+        }
+
+        private void refresh(BookSearchEngine bookSearchEngine) {
+            readSinceRefresh = false;
+            value = bookSearchEngine.count(filter);
+            lastRefresh = System.nanoTime();
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.wiriswernek.library_api.config.ExportProperties;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookExportService;
+import io.github.wiriswernek.library_api.utils.BookCsv;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+/**
+ * Exporta o catálogo inteiro escrevendo direto no fluxo de saída. As linhas chegam como projeções
+ * {@link BookDTO}, fora do contexto de persistência, então a memória usada não depende do tamanho da tabela.
+ */
+@Service
+public class BookExportServiceImp implements BookExportService {
+
+    private final IBookRepository bookRepository;
+
+    private final ObjectMapper objectMapper;
+
+    private final ObjectWriter bookWriter;
+
+    private final ExportProperties properties;
+
+    public BookExportServiceImp(IBookRepository bookRepository, ObjectMapper objectMapper, ExportProperties properties) {
+        this.bookRepository = bookRepository;
+        this.objectMapper = objectMapper;
+        // Sem flush por registro: o gerador acumula no buffer e só descarrega quando ele enche
+        this.bookWriter = objectMapper.writerFor(BookDTO.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.properties = properties;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void export(BookFormatEnum format, OutputStream output) throws IOException {
+        try (Stream<BookDTO> books = bookRepository.streamAll(properties.fetchSize())) {
+            if (format == BookFormatEnum.CSV) {
+                writeCsv(books, output);
+            } else {
+                writeJson(books, output, format == BookFormatEnum.NDJSON);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeJson(Stream<BookDTO> books, OutputStream output, boolean lineDelimited) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(output);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        if (lineDelimited) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+        } else {
+            generator.writeStartArray();
+        }
+
+        books.forEach(book -> {
+            try {
+                bookWriter.writeValue(generator, book);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+
+        if (lineDelimited) {
+            generator.writeRaw('\n');
+        } else {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+
+    private void writeCsv(Stream<BookDTO> books, OutputStream output) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        writer.write(BookCsv.HEADER);
+        writer.write('\n');
+
+        StringBuilder line = new StringBuilder(128);
+        books.forEach(book -> {
+            line.setLength(0);
+            line.append(book.getId()).append(',');
+            BookCsv.appendField(line, book.getTitle());
+            line.append(',');
+            BookCsv.appendField(line, book.getAuthor());
+            line.append(',');
+            BookCsv.appendField(line, book.getIsbn());
+            line.append('\n');
+            try {
+                writer.append(line);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        writer.flush();
+    }
+}
@@ -0,0 +1,200 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wiriswernek.library_api.cache.BookCache;
+import io.github.wiriswernek.library_api.cache.BookSuggestIndex;
+import io.github.wiriswernek.library_api.cache.IsbnFilter;
+import io.github.wiriswernek.library_api.config.BulkProperties;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
+import io.github.wiriswernek.library_api.model.dto.BookImportErrorDTO;
+import io.github.wiriswernek.library_api.model.dto.BookImportResultDTO;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookImportService;
+import io.github.wiriswernek.library_api.utils.BookImportReader;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Importação em massa: as linhas são lidas sob demanda e processadas em lotes de library.bulk.batch-size.
+ * Cada lote faz uma única consulta para descobrir quais dos ISBNs dados como prováveis pelo {@link IsbnFilter}
+ * já estão cadastrados (nenhuma, se o filtro descarta todos) e um único insert em lote, e toda linha rejeitada
+ * entra no relatório com o motivo.
+ */
+@Service
+public class BookImportServiceImp implements BookImportService {
+
+    private final IBookRepository bookRepository;
+
+    private final Validator validator;
+
+    private final ObjectMapper objectMapper;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BulkProperties properties;
+
+    private final BookCache bookCache;
+
+    private final BookMetrics bookMetrics;
+
+    private final IsbnFilter isbnFilter;
+
+    private final BookSuggestIndex bookSuggestIndex;
+
+    public BookImportServiceImp(IBookRepository bookRepository, Validator validator, ObjectMapper objectMapper,
+                                TransactionTemplate transactionTemplate, BulkProperties properties, BookCache bookCache,
+                                BookMetrics bookMetrics, IsbnFilter isbnFilter,
+                                BookSuggestIndex bookSuggestIndex) {
+        this.bookRepository = bookRepository;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.properties = properties;
+        this.bookCache = bookCache;
+        this.bookMetrics = bookMetrics;
+        this.isbnFilter = isbnFilter;
+        this.bookSuggestIndex = bookSuggestIndex;
+    }
+
+    @Override
+    public BookImportResultDTO importBooks(BookFormatEnum format, InputStream input) throws Exception {
+        ImportReport report = new ImportReport(properties.maxErrors());
+        Set<String> seenIsbns = new HashSet<>();
+        List<BookImportReader.Row> batch = new ArrayList<>(properties.batchSize());
+
+        try (BookImportReader reader = BookImportReader.open(format, input, objectMapper)) {
+            while (reader.hasNext()) {
+                BookImportReader.Row row = reader.next();
+                report.received++;
+                if (accept(row, seenIsbns, report)) {
+                    batch.add(row);
+                }
+                if (batch.size() == properties.batchSize()) {
+                    insert(batch, report);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            insert(batch, report);
+        }
+        if (report.imported > 0) {
+            // Os IDs gerados no lote não passam pelo cache; um ID consultado antes da importação pode estar marcado como inexistente.
+            // Pelo mesmo motivo o índice do autocomplete é reconstruído em vez de atualizado linha a linha
+            bookCache.evictMissing();
+            bookSuggestIndex.invalidate();
+        }
+        bookMetrics.recordImportDuplicates(report.duplicates);
+        return report.toDTO();
+    }
+
+    private boolean accept(BookImportReader.Row row, Set<String> seenIsbns, ImportReport report) {
+        if (row.error() != null) {
+            report.reject(row, List.of(row.error()));
+            return false;
+        }
+
+        Set<ConstraintViolation<BookRequest>> violations = validator.validate(row.book());
+        if (!violations.isEmpty()) {
+            report.reject(row, violations.stream().map(violation -> violation.getPropertyPath() + ": " + violation.getMessage()).sorted().toList());
+            return false;
+        }
+
+        if (!seenIsbns.add(row.book().isbn())) {
+            report.rejectDuplicate(row);
+            return false;
+        }
+        return true;
+    }
+
+    private void insert(List<BookImportReader.Row> batch, ImportReport report) {
+        IsbnFilter.Lookup lookup = isbnFilter.lookup(batch.stream().map(row -> row.book().isbn()).toList());
+        List<String> probable = lookup.probable();
+        Set<String> existing = probable.isEmpty() ? Set.of() : bookRepository.findExistingIsbns(probable);
+        if (lookup.filtered()) {
+            isbnFilter.recordFalsePositives(probable.size() - existing.size());
+        }
+
+        List<BookImportReader.Row> rows = new ArrayList<>(batch.size());
+        for (BookImportReader.Row row : batch) {
+            if (existing.contains(row.book().isbn())) {
+                report.rejectDuplicate(row);
+            } else {
+                rows.add(row);
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> bookRepository.insertAll(rows.stream().map(BookImportReader.Row::book).toList()));
+            rows.forEach(row -> isbnFilter.add(row.book().isbn()));
+            report.imported += rows.size();
+        } catch (DataIntegrityViolationException e) {
+            // Outra escrita ocupou algum ISBN entre a consulta e o insert: refaz o lote linha a linha
+            rows.forEach(row -> insertOne(row, report));
+        }
+    }
+
+    private void insertOne(BookImportReader.Row row, ImportReport report) {
+        try {
+            bookRepository.insertAll(List.of(row.book()));
+            isbnFilter.add(row.book().isbn());
+            report.imported++;
+        } catch (DataIntegrityViolationException e) {
+            if (DatabaseUtils.isConstraintViolation(e, IBookRepository.ISBN_UNIQUE_INDEX)) {
+                report.rejectDuplicate(row);
+            } else {
+                report.reject(row, List.of(e.getMostSpecificCause().getMessage()));
+            }
+        }
+    }
+
+    private static final class ImportReport {
+        private final int maxErrors;
+
+        private final List<BookImportErrorDTO> errors = new ArrayList<>();
+
+        private long received;
+
+        private long imported;
+
+        private long rejected;
+
+        private long duplicates;
+
+        private ImportReport(int maxErrors) {
+            this.maxErrors = maxErrors;
+        }
+
+        private void reject(BookImportReader.Row row, List<String> messages) {
+            rejected++;
+            if (errors.size() < maxErrors) {
+                errors.add(new BookImportErrorDTO(row.number(), row.book() == null ? null : row.book().isbn(), messages));
+            }
+        }
+
+        private void rejectDuplicate(BookImportReader.Row row) {
+            duplicates++;
+            reject(row, List.of(ErrosEnum.ISBN_DUPLICADO.toString()));
+        }
+
+        private BookImportResultDTO toDTO() {
+            return new BookImportResultDTO(received, imported, rejected, errors, rejected > errors.size());
+        }
+    }
+}
@@ -1,82 +1,259 @@
 package io.github.wiriswernek.library_api.service.imp;
 
+import io.github.wiriswernek.library_api.cache.BookCache;
+import io.github.wiriswernek.library_api.cache.BookSuggestIndex;
+import io.github.wiriswernek.library_api.cache.IsbnFilter;
+import io.github.wiriswernek.library_api.datasource.DataSourceRouting;
 import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
 import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
 import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
 import io.github.wiriswernek.library_api.model.record.BookRequest;
 import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookCountService;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import io.github.wiriswernek.library_api.utils.SingleFlight;
 import io.github.wiriswernek.library_api.service.BookService;
-import org.modelmapper.ModelMapper;
-import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.awt.print.Book;
-import java.util.stream.Collectors;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 
+/**
+ * Leituras de listagem rodam em transações somente leitura, com conteúdo e contagem na mesma conexão,
+ * e devolvem projeções {@link BookDTO} em vez de entidades gerenciadas. findById e findAllById consultam o cache
+ * antes e ficam sem transação própria; os métodos do JpaRepository que usam já são somente leitura.
+ * Buscas por ID fora do cache que chegam juntas esperam a carga única do próprio {@link BookCache}; buscas com
+ * o mesmo filtro compartilham uma única consulta ({@link SingleFlight}), por isso a transação da busca fica no
+ * {@link BookSearchEngine}, e quem espera não segura conexão.
+ * Com réplicas configuradas, as transações somente leitura vão para elas, exceto as leituras que alimentam
+ * o cache ou decidem o resultado de uma escrita, fixadas no primário por {@link DataSourceRouting}.
+ */
 @Service
 public class BookServiceImp implements BookService {
 
     private final IBookRepository bookRepository;
 
-    @Autowired
-    private ModelMapper modelMapper;
+    private final BookMapper bookMapper;
 
-    public BookServiceImp(IBookRepository bookRepository, ModelMapper modelMapper) {
+    private final BookCountService bookCountService;
+
+    private final BookSearchEngine bookSearchEngine;
+
+    private final BookCache bookCache;
+
+    private final IsbnFilter isbnFilter;
+
+    private final BookSuggestIndex bookSuggestIndex;
+
+    private final SingleFlight<SearchKey, Page<BookDTO>> pageSearches = new SingleFlight<>();
+
+    private final SingleFlight<SearchKey, Slice<BookDTO>> sliceSearches = new SingleFlight<>();
+
+    /**
+     * Filtro, página e modo de contagem; a busca ignora maiúsculas, então o filtro entra normalizado.
+     */
+    private record SearchKey(String title, String author, String isbn, Pageable page, CountModeEnum count) {
+        static SearchKey of(BookRequest filter, Pageable page, CountModeEnum count) {
+            return new SearchKey(normalize(filter.title()), normalize(filter.author()), normalize(filter.isbn()), page, count);
+        }
+
+        private static String normalize(String value) {
+            return value == null ? null : value.toLowerCase(Locale.ROOT);
+        }
+    }
+
+    public BookServiceImp(IBookRepository bookRepository, BookMapper bookMapper, BookCountService bookCountService,
+                          BookSearchEngine bookSearchEngine, BookCache bookCache, IsbnFilter isbnFilter,
+                          BookSuggestIndex bookSuggestIndex) {
         this.bookRepository = bookRepository;
-        this.modelMapper = modelMapper;
+        this.bookMapper = bookMapper;
+        this.bookCountService = bookCountService;
+        this.bookSearchEngine = bookSearchEngine;
+        this.bookCache = bookCache;
+        this.isbnFilter = isbnFilter;
+        this.bookSuggestIndex = bookSuggestIndex;
     }
 
     @Override
     public BookEntity save(BookRequest book) throws Exception {
+        BookEntity bookEntity = this.bookMapper.toEntity(book);
+        try {
+            BookEntity saved = bookRepository.saveAndFlush(bookEntity);
+            bookCache.put(saved);
+            isbnFilter.add(saved.getIsbn());
+            bookSuggestIndex.put(saved.getId(), saved.getTitle(), saved.getAuthor());
+            return saved;
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+    }
 
-        if (bookRepository.existsByIsbn(book.isbn())) {
-            throw new BusinessExcetion(ErrosEnum.ISBN_DUPLICADO);
+    @Override
+    public BookEntity findById(Long id) throws Exception {
+        BookCache.CachedBook cached = bookCache.get(id, this::load);
+        if (!cached.exists()) {
+            throw new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO);
         }
+        return cached.book();
+    }
 
-        BookEntity bookEntity = this.modelMapper.map(book, BookEntity.class);
-        return bookRepository.save(bookEntity);
+    private BookEntity load(Long id) {
+        return DataSourceRouting.onPrimary(() -> bookRepository.findById(id)).orElse(null);
     }
 
     @Override
-    public BookEntity findById(Long id) throws Exception {
-        return bookRepository.findById(id).orElseThrow(() -> new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
+    public BookBatch findAllById(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+
+        Map<Long, BookCache.CachedBook> found = bookCache.getAll(unique,
+                pending -> DataSourceRouting.onPrimary(() -> bookRepository.findAllById(pending)));
+
+        List<BookEntity> books = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>();
+        for (Long id : unique) {
+            BookCache.CachedBook cached = found.get(id);
+            if (cached.exists()) {
+                books.add(cached.book());
+            } else {
+                missing.add(id);
+            }
+        }
+        return new BookBatch(books, missing);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<BookDTO> findAll(Pageable page) {
+        return bookRepository.findPageBy(page);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> findAll(Pageable page, CountModeEnum count) {
+        return switch (count) {
+            case EXACT -> findAll(page);
+            case NONE -> bookRepository.findAllBy(page);
+            case APPROXIMATE -> withTotal(bookRepository.findAllBy(page), bookCountService.approximateTotal());
+        };
     }
 
     @Override
-    public Page<BookEntity> findAll(Pageable page) {
-        return bookRepository.findAll(page);
+    @Transactional(readOnly = true)
+    public Slice<BookDTO> findAllAfter(Long afterId, int size) {
+        // Busca um registro a mais para saber se existe próxima página sem executar count(*)
+        Pageable limit = PageRequest.ofSize(size + 1);
+        List<BookDTO> books = afterId == null
+                ? bookRepository.findAllByOrderByIdDesc(limit)
+                : bookRepository.findByIdLessThanOrderByIdDesc(afterId, limit);
+
+        boolean hasNext = books.size() > size;
+        List<BookDTO> content = hasNext ? books.subList(0, size) : books;
+        return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
     }
 
     @Override
     public Boolean delete(Long id) throws Exception {
-        bookRepository.findById(id).orElseThrow(() -> new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
-        bookRepository.deleteById(id);
+        int deleted = bookRepository.deleteBookById(id);
+        bookCache.evict(id);
+        if (deleted == 0) {
+            throw new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO);
+        }
+        bookSuggestIndex.remove(id);
         return Boolean.TRUE;
     }
 
     @Override
     public BookEntity update(Long id, BookRequest book) throws Exception {
-        bookRepository.findById(id).orElseThrow(() -> new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
-        var exists = bookRepository.existsByIsbnAndIdNot(book.isbn(), id);
-        if (exists) {
-            throw new BusinessExcetion(ErrosEnum.ISBN_DUPLICADO);
+        int updated;
+        try {
+            updated = bookRepository.updateBook(id, book.title(), book.author(), book.isbn());
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
         }
+        bookCache.evict(id);
+        if (updated == 0) {
+            throw new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO);
+        }
+        isbnFilter.add(book.isbn());
+        bookSuggestIndex.put(id, book.title(), book.author());
 
-        var bookEntity = this.modelMapper.map(book, BookEntity.class);
+        var bookEntity = this.bookMapper.toEntity(book);
         bookEntity.setId(id);
-        return bookRepository.save(bookEntity);
+        return bookEntity;
     }
 
     @Override
-    public Page<BookEntity> search(BookRequest filter, Pageable page) {
-        Example<BookEntity> example = Example.of(modelMapper.map(filter, BookEntity.class),
-                ExampleMatcher.matching()
-                        .withIgnoreCase()
-                        .withIncludeNullValues()
-                        .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
-        );
-        return bookRepository.findAll(example, page);
+    public BookEntity update(Long id, BookRequest book, Long expectedVersion) throws Exception {
+        if (expectedVersion == null) {
+            return update(id, book);
+        }
+
+        int updated;
+        try {
+            updated = bookRepository.updateBookIfVersion(id, book.title(), book.author(), book.isbn(), expectedVersion);
+        } catch (DataIntegrityViolationException e) {
+            throw translate(e);
+        }
+        bookCache.evict(id);
+        if (updated == 0) {
+            // Só no caminho de falha: distingue livro inexistente de versão desatualizada
+            boolean exists = DataSourceRouting.onPrimary(() -> bookRepository.existsById(id));
+            throw new BusinessExcetion(exists ? ErrosEnum.VERSAO_DESATUALIZADA : ErrosEnum.LIVRO_NAO_ENCONTRADO);
+        }
+        isbnFilter.add(book.isbn());
+        bookSuggestIndex.put(id, book.title(), book.author());
+
+        var bookEntity = this.bookMapper.toEntity(book);
+        bookEntity.setId(id);
+        bookEntity.setVersion(expectedVersion + 1);
+        return bookEntity;
+    }
+
+    @Override
+    public Page<BookDTO> search(BookRequest filter, Pageable page) {
+        return pageSearches.execute(SearchKey.of(filter, page, CountModeEnum.EXACT), () -> bookSearchEngine.search(filter, page));
+    }
+
+    @Override
+    public Slice<BookDTO> search(BookRequest filter, Pageable page, CountModeEnum count) {
+        return switch (count) {
+            case EXACT -> search(filter, page);
+            case NONE -> sliceSearches.execute(SearchKey.of(filter, page, count), () -> bookSearchEngine.searchSlice(filter, page));
+            case APPROXIMATE -> sliceSearches.execute(SearchKey.of(filter, page, count), () -> withTotal(bookSearchEngine.searchSlice(filter, page),
+                    bookCountService.approximateCount(filter)));
+        };
+    }
+
+    @Override
+    public List<BookSuggestionDTO> suggest(String query, int limit) {
+        return bookSuggestIndex.suggest(query, limit);
+    }
+
+    /**
+     * O índice único de ISBN é a fonte da verdade para duplicidade; demais violações seguem como estão.
+     */
+    private static RuntimeException translate(DataIntegrityViolationException exception) {
+        if (DatabaseUtils.isConstraintViolation(exception, IBookRepository.ISBN_UNIQUE_INDEX)) {
+            return new BusinessExcetion(ErrosEnum.ISBN_DUPLICADO);
+        }
+        return exception;
+    }
+
+    private static Page<BookDTO> withTotal(Slice<BookDTO> books, long total) {
+        return new PageImpl<>(books.getContent(), books.getPageable(), total);
     }
 }
@@ -0,0 +1,50 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import org.springframework.data.domain.*;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Busca portável via Query by Example, usada em bancos sem pg_trgm (como o H2 dos testes).
+ */
+@Transactional(readOnly = true)
+public class ExampleBookSearchEngine implements BookSearchEngine {
+
+    private final IBookRepository bookRepository;
+
+    private final BookMapper bookMapper;
+
+    public ExampleBookSearchEngine(IBookRepository bookRepository, BookMapper bookMapper) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+    }
+
+    @Override
+    public Page<BookDTO> search(BookRequest filter, Pageable page) {
+        return bookRepository.findPage(toExample(filter), page);
+    }
+
+    @Override
+    public Slice<BookDTO> searchSlice(BookRequest filter, Pageable page) {
+        return bookRepository.findSlice(toExample(filter), page);
+    }
+
+    @Override
+    public long count(BookRequest filter) {
+        return bookRepository.count(toExample(filter));
+    }
+
+    private Example<BookEntity> toExample(BookRequest filter) {
+        return Example.of(bookMapper.toEntity(filter),
+                ExampleMatcher.matching()
+                        .withIgnoreCase()
+                        .withIgnoreNullValues()
+                        .withStringMatcher(ExampleMatcher.StringMatcher.CONTAINING)
+        );
+    }
+}
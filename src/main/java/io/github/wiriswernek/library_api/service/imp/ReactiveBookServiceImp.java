@@ -0,0 +1,239 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import io.github.wiriswernek.library_api.cache.BookCache;
+import io.github.wiriswernek.library_api.cache.BookSuggestIndex;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookReactiveRepository;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookCountService;
+import io.github.wiriswernek.library_api.service.ReactiveBookService;
+import io.github.wiriswernek.library_api.utils.DatabaseUtils;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.*;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveBookServiceImp implements ReactiveBookService {
+
+    private final IBookReactiveRepository bookRepository;
+
+    private final BookMapper bookMapper;
+
+    private final BookCountService bookCountService;
+
+    private final BookCache bookCache;
+
+    private final BookSuggestIndex bookSuggestIndex;
+
+    public ReactiveBookServiceImp(IBookReactiveRepository bookRepository, BookMapper bookMapper,
+                                  BookCountService bookCountService, BookCache bookCache, BookSuggestIndex bookSuggestIndex) {
+        this.bookRepository = bookRepository;
+        this.bookMapper = bookMapper;
+        this.bookCountService = bookCountService;
+        this.bookCache = bookCache;
+        this.bookSuggestIndex = bookSuggestIndex;
+    }
+
+    @Override
+    public Mono<BookEntity> save(BookRequest book) {
+        return bookRepository.save(bookMapper.toRow(book))
+                .map(bookMapper::toEntity)
+                .doOnNext(saved -> {
+                    bookCache.put(saved);
+                    bookSuggestIndex.put(saved.getId(), saved.getTitle(), saved.getAuthor());
+                })
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveBookServiceImp::translate);
+    }
+
+    @Override
+    public Mono<BookEntity> findById(Long id) {
+        BookCache.CachedBook cached = bookCache.get(id);
+        if (cached != null) {
+            return cached.exists() ? Mono.just(cached.book()) : Mono.error(new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
+        }
+
+        long generation = bookCache.generation();
+        return bookRepository.findById(id)
+                .map(bookMapper::toEntity)
+                .doOnNext(book -> bookCache.putLoaded(id, book, generation))
+                .switchIfEmpty(Mono.defer(() -> {
+                    bookCache.putLoaded(id, null, generation);
+                    return Mono.error(new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
+                }));
+    }
+
+    @Override
+    public Mono<BookBatch> findAllById(List<Long> ids) {
+        Set<Long> unique = new LinkedHashSet<>(ids);
+        unique.remove(null);
+
+        Map<Long, BookEntity> cached = new HashMap<>();
+        Set<Long> pending = new LinkedHashSet<>();
+        for (Long id : unique) {
+            BookCache.CachedBook entry = bookCache.get(id);
+            if (entry == null) {
+                pending.add(id);
+            } else if (entry.exists()) {
+                cached.put(id, entry.book());
+            }
+        }
+
+        long generation = bookCache.generation();
+        Mono<Map<Long, BookEntity>> loaded = pending.isEmpty()
+                ? Mono.just(Map.of())
+                : bookRepository.findAllById(pending).map(bookMapper::toEntity)
+                        .doOnNext(book -> bookCache.putLoaded(book.getId(), book, generation))
+                        .collectMap(BookEntity::getId);
+        return loaded.map(found -> {
+            List<BookEntity> books = new ArrayList<>(unique.size());
+            List<Long> missing = new ArrayList<>();
+            for (Long id : unique) {
+                BookEntity book = cached.containsKey(id) ? cached.get(id) : found.get(id);
+                if (book != null) {
+                    books.add(book);
+                } else {
+                    missing.add(id);
+                    if (pending.contains(id)) {
+                        bookCache.putLoaded(id, null, generation);
+                    }
+                }
+            }
+            return new BookBatch(books, missing);
+        });
+    }
+
+    @Override
+    public Mono<Slice<BookEntity>> findAll(Pageable page, CountModeEnum count) {
+        // Sem filtro a busca vira um SELECT paginado pela ordenação pedida
+        return search(null, page, count);
+    }
+
+    @Override
+    public Mono<Slice<BookEntity>> findAllAfter(Long afterId, int size) {
+        // Busca um registro a mais para saber se existe próxima página sem executar count(*)
+        Pageable page = PageRequest.of(0, size + 1, Sort.by(Sort.Direction.DESC, "id"));
+        var rows = afterId == null ? bookRepository.findAllBy(page) : bookRepository.findByIdLessThan(afterId, page);
+
+        return rows.map(bookMapper::toEntity).collectList().<Slice<BookEntity>>map(books -> {
+            boolean hasNext = books.size() > size;
+            List<BookEntity> content = hasNext ? books.subList(0, size) : books;
+            return new SliceImpl<>(content, PageRequest.ofSize(size), hasNext);
+        });
+    }
+
+    @Override
+    public Mono<Void> delete(Long id) {
+        return bookRepository.deleteBookById(id)
+                .doOnNext(deleted -> {
+                    bookCache.evict(id);
+                    bookSuggestIndex.remove(id);
+                })
+                .<Void>flatMap(deleted -> deleted == 0 ? Mono.error(new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO)) : Mono.empty());
+    }
+
+    @Override
+    public Mono<BookEntity> update(Long id, BookRequest book) {
+        return bookRepository.updateBook(id, book.title(), book.author(), book.isbn())
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveBookServiceImp::translate)
+                .doOnNext(updated -> bookCache.evict(id))
+                .flatMap(updated -> {
+                    if (updated == 0) {
+                        return Mono.error(new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO));
+                    }
+                    bookSuggestIndex.put(id, book.title(), book.author());
+                    var bookEntity = bookMapper.toEntity(book);
+                    bookEntity.setId(id);
+                    return Mono.just(bookEntity);
+                });
+    }
+
+    @Override
+    public Mono<BookEntity> update(Long id, BookRequest book, Long expectedVersion) {
+        if (expectedVersion == null) {
+            return update(id, book);
+        }
+
+        return bookRepository.updateBookIfVersion(id, book.title(), book.author(), book.isbn(), expectedVersion)
+                .onErrorMap(DataIntegrityViolationException.class, ReactiveBookServiceImp::translate)
+                .doOnNext(updated -> bookCache.evict(id))
+                .<BookEntity>flatMap(updated -> {
+                    if (updated == 0) {
+                        return bookRepository.existsById(id).flatMap(exists -> Mono.error(new BusinessExcetion(
+                                exists ? ErrosEnum.VERSAO_DESATUALIZADA : ErrosEnum.LIVRO_NAO_ENCONTRADO)));
+                    }
+                    bookSuggestIndex.put(id, book.title(), book.author());
+                    var bookEntity = bookMapper.toEntity(book);
+                    bookEntity.setId(id);
+                    bookEntity.setVersion(expectedVersion + 1);
+                    return Mono.just(bookEntity);
+                });
+    }
+
+    @Override
+    public Mono<Slice<BookEntity>> search(BookRequest filter, Pageable page, CountModeEnum count) {
+        if (count == CountModeEnum.NONE) {
+            // Um registro a mais indica se existe próxima página, dispensando o count(*)
+            return bookRepository.searchRanked(filter, page.getOffset(), page.getPageSize() + 1, page.getSort())
+                    .map(bookMapper::toEntity).collectList()
+                    .<Slice<BookEntity>>map(books -> {
+                        boolean hasNext = books.size() > page.getPageSize();
+                        return new SliceImpl<>(hasNext ? books.subList(0, page.getPageSize()) : books, page, hasNext);
+                    });
+        }
+
+        Mono<List<BookEntity>> books = bookRepository.searchRanked(filter, page.getOffset(), page.getPageSize(), page.getSort())
+                .map(bookMapper::toEntity).collectList();
+        Mono<Long> total = switch (count) {
+            case APPROXIMATE -> approximateCount(filter);
+            case EXACT, NONE -> bookRepository.countRanked(filter);
+        };
+        return books.<Long, Slice<BookEntity>>zipWith(total, (content, totalElements) -> new PageImpl<>(content, page, totalElements));
+    }
+
+    /**
+     * O índice de sugestões fica em memória, então a resposta não bloqueia.
+     */
+    @Override
+    public Mono<List<BookSuggestionDTO>> suggest(String query, int limit) {
+        return Mono.fromSupplier(() -> bookSuggestIndex.suggest(query, limit));
+    }
+
+    /**
+     * As estimativas de {@link BookCountService} são lidas por JDBC e ficam em cache; a leitura que
+     * ainda não está em cache roda fora do event loop.
+     */
+    private Mono<Long> approximateCount(BookRequest filter) {
+        return Mono.fromCallable(() -> filter == null
+                        ? bookCountService.approximateTotal()
+                        : bookCountService.approximateCount(filter))
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * O índice único de ISBN é a fonte da verdade para duplicidade; demais violações seguem como estão.
+     */
+    private static Throwable translate(DataIntegrityViolationException exception) {
+        if (DatabaseUtils.isConstraintViolation(exception, IBookRepository.ISBN_UNIQUE_INDEX)) {
+            return new BusinessExcetion(ErrosEnum.ISBN_DUPLICADO);
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.wiriswernek.library_api.service.imp;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import org.springframework.data.domain.*;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.util.List;
+
+/**
+ * Busca indexada por trigramas no PostgreSQL, com os resultados mais relevantes primeiro.
+ */
+@Transactional(readOnly = true)
+public class TrigramBookSearchEngine implements BookSearchEngine {
+
+    private final IBookRepository bookRepository;
+
+    public TrigramBookSearchEngine(IBookRepository bookRepository) {
+        this.bookRepository = bookRepository;
+    }
+
+    @Override
+    public Page<BookDTO> search(BookRequest filter, Pageable page) {
+        if (page.isUnpaged()) {
+            List<BookDTO> books = bookRepository.searchRanked(filter, 0, Integer.MAX_VALUE, page.getSort());
+            return new PageImpl<>(books, page, books.size());
+        }
+        List<BookDTO> books = bookRepository.searchRanked(filter, page.getOffset(), page.getPageSize(), page.getSort());
+        return PageableExecutionUtils.getPage(books, page, () -> bookRepository.countRanked(filter));
+    }
+
+    @Override
+    public Slice<BookDTO> searchSlice(BookRequest filter, Pageable page) {
+        if (page.isUnpaged()) {
+            return new SliceImpl<>(bookRepository.searchRanked(filter, 0, Integer.MAX_VALUE, page.getSort()), page, false);
+        }
+        List<BookDTO> books = bookRepository.searchRanked(filter, page.getOffset(), page.getPageSize() + 1, page.getSort());
+        boolean hasNext = books.size() > page.getPageSize();
+        return new SliceImpl<>(hasNext ? books.subList(0, page.getPageSize()) : books, page, hasNext);
+    }
+
+    @Override
+    public long count(BookRequest filter) {
+        return bookRepository.countMatching(filter);
+    }
+}
@@ -0,0 +1,114 @@
+package io.github.wiriswernek.library_api.utils;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Filtro de Bloom de strings, seguro para inclusões concorrentes (bits ligados por CAS, sem lock).
+ * {@link #mightContain} nunca dá falso negativo para o que foi incluído; o falso positivo fica perto
+ * da taxa pedida enquanto o número de entradas não passar do esperado. Não suporta remoção.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray bits;
+
+    private final long bitCount;
+
+    private final int hashes;
+
+    private final LongAdder entries = new LongAdder();
+
+    private BloomFilter(long bitCount, int hashes) {
+        this.bits = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = bitCount;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Dimensiona com m = -n·ln(p)/ln(2)² bits e k = (m/n)·ln(2) funções de hash.
+     */
+    public static BloomFilter create(long expectedEntries, double falsePositiveRate) {
+        long n = Math.max(1, expectedEntries);
+        long m = Math.max(64, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2))));
+        int k = Math.max(1, (int) Math.round((double) m / n * Math.log(2)));
+        return new BloomFilter(m, k);
+    }
+
+    /**
+     * Retorna {@code true} se algum bit mudou, isto é, se o valor certamente não estava no filtro.
+     */
+    public boolean put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9e3779b97f4a7c15L) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            changed |= set(Math.floorMod(h1 + i * h2, bitCount));
+        }
+        if (changed) {
+            entries.increment();
+        }
+        return changed;
+    }
+
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 + 0x9e3779b97f4a7c15L) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Taxa de falso positivo esperada para as entradas já incluídas: (1 - e^(-k·n/m))^k.
+     */
+    public double expectedFalsePositiveRate() {
+        return Math.pow(1 - Math.exp(-hashes * (double) entries.sum() / bitCount), hashes);
+    }
+
+    public long entries() {
+        return entries.sum();
+    }
+
+    public long sizeInBytes() {
+        return bits.length() * (long) Long.BYTES;
+    }
+
+    private boolean set(long index) {
+        int word = (int) (index >>> 6);
+        long mask = 1L << index;
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * FNV-1a de 64 bits sobre os caracteres, seguido da finalização do MurmurHash3 para espalhar os bits.
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,67 @@
+package io.github.wiriswernek.library_api.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitura e escrita de registros CSV (RFC 4180) com os campos de livro.
+ * Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha; separar os registros
+ * respeitando as aspas fica com quem lê o arquivo (veja {@link BookImportReader}).
+ */
+public final class BookCsv {
+
+    public static final String HEADER = "id,title,author,isbn";
+
+    private BookCsv() {
+    }
+
+    public static List<String> parseLine(String line) {
+        List<String> fields = new ArrayList<>(4);
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Aspas não fechadas na linha CSV");
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public static void appendField(StringBuilder line, String value) {
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            line.append(value);
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                line.append('"');
+            }
+            line.append(c);
+        }
+        line.append('"');
+    }
+}
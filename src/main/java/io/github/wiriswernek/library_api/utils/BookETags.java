@@ -0,0 +1,67 @@
+package io.github.wiriswernek.library_api.utils;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+
+/**
+ * ETags fortes derivados da coluna de versão: um livro é {@code "id:versão"} e uma página é um hash
+ * dos pares (id, versão) e dos metadados de paginação. Nenhum dos dois depende do corpo serializado.
+ */
+public final class BookETags {
+
+    private static final String WILDCARD = "*";
+
+    private BookETags() {
+    }
+
+    public static String of(BookEntity book) {
+        return of(book.getId(), book.getVersion() == null ? 0L : book.getVersion());
+    }
+
+    public static String of(Long id, long version) {
+        return "\"" + id + ":" + version + "\"";
+    }
+
+    public static String ofPage(Slice<BookDTO> books) {
+        long hash = 17;
+        hash = 31 * hash + books.getNumber();
+        hash = 31 * hash + books.getSize();
+        hash = 31 * hash + books.getSort().hashCode();
+        hash = 31 * hash + (books.hasNext() ? 1 : 0);
+        if (books instanceof Page<BookDTO> page) {
+            hash = 31 * hash + page.getTotalElements();
+        }
+        for (BookDTO book : books) {
+            hash = 31 * hash + book.getId();
+            hash = 31 * hash + (book.getVersion() == null ? 0L : book.getVersion());
+        }
+        return "\"p" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Extrai a versão esperada do cabeçalho If-Match para o livro informado.
+     * Retorna {@code null} sem cabeçalho ou com {@code *}; um ETag fraco, malformado ou de outro livro
+     * nunca casa (comparação forte) e resulta em {@link ErrosEnum#VERSAO_DESATUALIZADA}.
+     */
+    public static Long expectedVersion(String ifMatch, Long id) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals(WILDCARD)) {
+            return null;
+        }
+        String prefix = "\"" + id + ":";
+        for (String tag : ifMatch.split(",")) {
+            tag = tag.trim();
+            if (tag.startsWith(prefix) && tag.endsWith("\"") && tag.length() > prefix.length() + 1) {
+                try {
+                    return Long.valueOf(tag.substring(prefix.length(), tag.length() - 1));
+                } catch (NumberFormatException e) {
+                    // segue para o próximo ETag da lista
+                }
+            }
+        }
+        throw new BusinessExcetion(ErrosEnum.VERSAO_DESATUALIZADA);
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.wiriswernek.library_api.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * Lê os livros de uma importação em massa sob demanda, sem carregar o corpo da requisição em memória.
+ * Aceita um array JSON, NDJSON (um objeto por linha) ou CSV com cabeçalho contendo title, author e isbn.
+ * Uma linha malformada é entregue com {@link Row#error()} preenchido; no JSON a leitura para nesse ponto.
+ * Um corpo que não começa no formato informado (cabeçalho CSV inválido, JSON sem array ou objeto) lança
+ * {@link ErrosEnum#IMPORTACAO_MALFORMADA}.
+ */
+public abstract class BookImportReader implements Iterator<BookImportReader.Row>, Closeable {
+
+    public record Row(long number, BookRequest book, String error) {
+    }
+
+    protected long number;
+
+    public static BookImportReader open(BookFormatEnum format, InputStream input, ObjectMapper objectMapper) throws IOException {
+        return format == BookFormatEnum.CSV ? new CsvRows(input) : new JsonRows(input, objectMapper);
+    }
+
+    private static final class JsonRows extends BookImportReader {
+
+        private final MappingIterator<BookRequest> values;
+
+        private String pendingError;
+
+        private boolean failed;
+
+        private JsonRows(InputStream input, ObjectMapper objectMapper) throws IOException {
+            try {
+                this.values = objectMapper.readerFor(BookRequest.class).readValues(input);
+            } catch (JsonProcessingException e) {
+                throw new BusinessExcetion(ErrosEnum.IMPORTACAO_MALFORMADA);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (failed) {
+                return false;
+            }
+            if (pendingError != null) {
+                return true;
+            }
+            try {
+                return values.hasNextValue();
+            } catch (IOException e) {
+                pendingError = message(e);
+                return true;
+            }
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            number++;
+            if (pendingError != null) {
+                failed = true;
+                return new Row(number, null, pendingError);
+            }
+            try {
+                return new Row(number, values.nextValue(), null);
+            } catch (IOException e) {
+                failed = true;
+                return new Row(number, null, message(e));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            values.close();
+        }
+
+        private static String message(IOException e) {
+            return e instanceof JsonProcessingException json ? json.getOriginalMessage() : e.getMessage();
+        }
+    }
+
+    private static final class CsvRows extends BookImportReader {
+
+        private static final int MAX_RECORD_LENGTH = 64 * 1024;
+
+        private final BufferedReader reader;
+
+        private final int titleIndex;
+
+        private final int authorIndex;
+
+        private final int isbnIndex;
+
+        private String nextLine;
+
+        private CsvRows(InputStream input) throws IOException {
+            this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+            String header = readLine();
+            if (header == null) {
+                titleIndex = authorIndex = isbnIndex = -1;
+                return;
+            }
+            List<String> columns;
+            try {
+                columns = BookCsv.parseLine(header.startsWith("\uFEFF") ? header.substring(1) : header).stream()
+                        .map(column -> column.trim().toLowerCase(Locale.ROOT))
+                        .toList();
+            } catch (IllegalArgumentException e) {
+                throw new BusinessExcetion(ErrosEnum.IMPORTACAO_MALFORMADA);
+            }
+            titleIndex = columns.indexOf("title");
+            authorIndex = columns.indexOf("author");
+            isbnIndex = columns.indexOf("isbn");
+            if (titleIndex < 0 || authorIndex < 0 || isbnIndex < 0) {
+                throw new BusinessExcetion(ErrosEnum.IMPORTACAO_MALFORMADA);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextLine == null && titleIndex >= 0) {
+                try {
+                    nextLine = readLine();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            return nextLine != null;
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            String line = nextLine;
+            nextLine = null;
+            number++;
+            try {
+                List<String> fields = BookCsv.parseLine(line);
+                return new Row(number, new BookRequest(field(fields, titleIndex), field(fields, authorIndex), field(fields, isbnIndex)), null);
+            } catch (IllegalArgumentException e) {
+                return new Row(number, null, e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+
+        private String readLine() throws IOException {
+            String line;
+            do {
+                line = readRecord();
+            } while (line != null && line.isBlank());
+            return line;
+        }
+
+        /**
+         * Lê um registro CSV, que termina na primeira quebra de linha fora de aspas: campos entre aspas podem
+         * conter quebras de linha, como os que a exportação gera. Um registro com aspas não fechadas é cortado
+         * em {@link #MAX_RECORD_LENGTH} caracteres e chega ao {@link BookCsv#parseLine} como linha malformada.
+         */
+        private String readRecord() throws IOException {
+            StringBuilder record = new StringBuilder();
+            boolean quoted = false;
+            int c;
+            while ((c = reader.read()) != -1) {
+                if (c == '"') {
+                    quoted = !quoted;
+                } else if (!quoted && (c == '\n' || c == '\r')) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    return record.toString();
+                }
+                record.append((char) c);
+                if (record.length() >= MAX_RECORD_LENGTH) {
+                    return record.toString();
+                }
+            }
+            return record.isEmpty() ? null : record.toString();
+        }
+
+        private static String field(List<String> fields, int index) {
+            return index < fields.size() ? fields.get(index) : null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.wiriswernek.library_api.utils;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.exception.ConstraintViolationException;
+
+import java.util.Locale;
+
+public final class DatabaseUtils {
+
+    private DatabaseUtils() {
+    }
+
+    /**
+     * Consulta o dialeto já resolvido pelo Hibernate, sem abrir conexão.
+     */
+    public static boolean isPostgres(EntityManagerFactory entityManagerFactory) {
+        return entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect() instanceof PostgreSQLDialect;
+    }
+
+    /**
+     * Escapa os curingas de LIKE para que o termo seja tratado literalmente (usar com ESCAPE '\').
+     */
+    public static String escapeLike(String term) {
+        return term.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    /**
+     * Verifica se a falha foi causada pela violação da constraint (ou índice único) informada.
+     * Compara sem diferenciar maiúsculas, pois o H2 reporta os nomes em caixa alta.
+     */
+    public static boolean isConstraintViolation(Throwable exception, String constraintName) {
+        String expected = constraintName.toLowerCase(Locale.ROOT);
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof ConstraintViolationException violation && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+            if (cause.getMessage() != null && cause.getMessage().toLowerCase(Locale.ROOT).contains(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,7 @@
+-- Tabela criada até aqui pelo ddl-auto do Hibernate; IF NOT EXISTS mantém bases existentes intactas.
+CREATE TABLE IF NOT EXISTS book (
+    id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title  VARCHAR(255),
+    author VARCHAR(255),
+    isbn   VARCHAR(255)
+);
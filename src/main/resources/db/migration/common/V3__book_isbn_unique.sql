@@ -0,0 +1,3 @@
+-- Garante ISBN único no próprio banco: o serviço grava em um único comando e traduz a violação em ISBN_DUPLICADO.
+-- Bases com ISBNs já duplicados precisam ser saneadas antes desta migração.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_book_isbn ON book (isbn);
@@ -0,0 +1,2 @@
+-- Versão do livro para travamento otimista (@Version) e ETags; toda escrita incrementa a coluna.
+ALTER TABLE book ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
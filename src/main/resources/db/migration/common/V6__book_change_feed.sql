@@ -0,0 +1,19 @@
+-- Feed de alterações (GET /api/books/changes): cada escrita em book recebe a próxima posição de book_change_seq
+-- e o instante em que a recebeu; exclusões deixam uma lápide com a própria posição. Os índices fazem uma
+-- sincronização custar proporcional às alterações desde o token, não ao tamanho do catálogo.
+-- Quem preenche as colunas é a migração V7 de cada banco.
+CREATE SEQUENCE IF NOT EXISTS book_change_seq;
+
+ALTER TABLE book ADD COLUMN IF NOT EXISTS change_seq BIGINT;
+ALTER TABLE book ADD COLUMN IF NOT EXISTS changed_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+CREATE INDEX IF NOT EXISTS ix_book_change_seq ON book (change_seq);
+
+CREATE TABLE IF NOT EXISTS book_tombstone (
+    id         BIGINT PRIMARY KEY,
+    change_seq BIGINT NOT NULL,
+    deleted_at TIMESTAMP WITH TIME ZONE NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS ix_book_tombstone_change_seq ON book_tombstone (change_seq);
+CREATE INDEX IF NOT EXISTS ix_book_tombstone_deleted_at ON book_tombstone (deleted_at);
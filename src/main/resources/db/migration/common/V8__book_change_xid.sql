@@ -0,0 +1,12 @@
+-- A posição no feed passa a ser (change_xid, change_seq): a transação que fez a escrita e a ordem dentro dela.
+-- O feed só entrega transações abaixo do xmin do snapshot corrente, todas já concluídas, então uma transação
+-- demorada nunca chega ao commit atrás de um token que já avançou. As linhas existentes ficam na transação 0,
+-- antes de qualquer outra. Quem preenche a coluna é a migração V9 de cada banco.
+ALTER TABLE book ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE book_tombstone ADD COLUMN IF NOT EXISTS change_xid BIGINT NOT NULL DEFAULT 0;
+
+DROP INDEX IF EXISTS ix_book_change_seq;
+DROP INDEX IF EXISTS ix_book_tombstone_change_seq;
+
+CREATE INDEX IF NOT EXISTS ix_book_change_position ON book (change_xid, change_seq);
+CREATE INDEX IF NOT EXISTS ix_book_tombstone_change_position ON book_tombstone (change_xid, change_seq);
@@ -0,0 +1,6 @@
+-- Índices de trigramas: atendem LIKE '%termo%' sobre lower(coluna) e o ranqueamento por similaridade.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS ix_book_title_trgm ON book USING gin (lower(title) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_book_author_trgm ON book USING gin (lower(author) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS ix_book_isbn_trgm ON book USING gin (lower(isbn) gin_trgm_ops);
@@ -0,0 +1,27 @@
+-- Avisa os demais nós de toda escrita em book (JPA, JDBC em lote, R2DBC ou SQL manual) pelo canal
+-- library_book_changed. O NOTIFY só é entregue no commit; o payload traz os IDs separados por vírgula,
+-- ou '*' quando o comando alterou mais de 500 linhas (limite de 8000 bytes do payload).
+CREATE OR REPLACE FUNCTION notify_book_changed() RETURNS trigger AS $$
+DECLARE
+    total bigint;
+    ids text;
+BEGIN
+    SELECT count(*), string_agg(id::text, ',') INTO total, ids FROM (SELECT id FROM changed LIMIT 501) c;
+    IF total = 0 THEN
+        RETURN NULL;
+    END IF;
+    PERFORM pg_notify('library_book_changed', CASE WHEN total > 500 THEN '*' ELSE ids END);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS book_changed_insert ON book;
+DROP TRIGGER IF EXISTS book_changed_update ON book;
+DROP TRIGGER IF EXISTS book_changed_delete ON book;
+
+CREATE TRIGGER book_changed_insert AFTER INSERT ON book REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_book_changed();
+CREATE TRIGGER book_changed_update AFTER UPDATE ON book REFERENCING NEW TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_book_changed();
+CREATE TRIGGER book_changed_delete AFTER DELETE ON book REFERENCING OLD TABLE AS changed
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_book_changed();
@@ -0,0 +1,32 @@
+-- Preenche change_seq e changed_at em toda escrita em book (JPA, JDBC em lote, R2DBC ou SQL manual) e grava
+-- a lápide das exclusões. changed_at usa clock_timestamp() junto do nextval, e não o início da transação.
+-- A V9 substitui estas funções para gravar também change_xid: o feed segue a ordem (change_xid, change_seq)
+-- e só entrega escritas de transações abaixo de pg_snapshot_xmin(pg_current_snapshot()), todas já encerradas.
+UPDATE book SET change_seq = nextval('book_change_seq') WHERE change_seq IS NULL;
+
+ALTER TABLE book ALTER COLUMN change_seq SET NOT NULL;
+
+CREATE OR REPLACE FUNCTION track_book_change() RETURNS trigger AS $$
+BEGIN
+    NEW.changed_at := clock_timestamp();
+    NEW.change_seq := nextval('book_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION track_book_delete() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO book_tombstone (id, change_seq, deleted_at)
+    SELECT id, nextval('book_change_seq'), clock_timestamp() FROM deleted
+    ON CONFLICT (id) DO UPDATE SET change_seq = EXCLUDED.change_seq, deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS book_track_change ON book;
+DROP TRIGGER IF EXISTS book_track_delete ON book;
+
+CREATE TRIGGER book_track_change BEFORE INSERT OR UPDATE ON book
+    FOR EACH ROW EXECUTE FUNCTION track_book_change();
+CREATE TRIGGER book_track_delete AFTER DELETE ON book REFERENCING OLD TABLE AS deleted
+    FOR EACH STATEMENT EXECUTE FUNCTION track_book_delete();
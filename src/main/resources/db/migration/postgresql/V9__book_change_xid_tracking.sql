@@ -0,0 +1,20 @@
+-- As triggers da V7 passam a gravar também o ID da transação (xid8, de 64 bits, sem wraparound).
+-- pg_current_xact_id() exige PostgreSQL 13 ou mais recente.
+CREATE OR REPLACE FUNCTION track_book_change() RETURNS trigger AS $$
+BEGIN
+    NEW.changed_at := clock_timestamp();
+    NEW.change_xid := pg_current_xact_id()::text::bigint;
+    NEW.change_seq := nextval('book_change_seq');
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE OR REPLACE FUNCTION track_book_delete() RETURNS trigger AS $$
+BEGIN
+    INSERT INTO book_tombstone (id, change_xid, change_seq, deleted_at)
+    SELECT id, pg_current_xact_id()::text::bigint, nextval('book_change_seq'), clock_timestamp() FROM deleted
+    ON CONFLICT (id) DO UPDATE SET change_xid = EXCLUDED.change_xid, change_seq = EXCLUDED.change_seq,
+                                   deleted_at = EXCLUDED.deleted_at;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
@@ -3,9 +3,25 @@ package io.github.wiriswernek.library_api.api;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
 import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.limit.AdaptiveLimiter;
+import io.github.wiriswernek.library_api.limit.ConcurrencyLimitInterceptor;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
 import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.enums.ConcurrencyBudgetEnum;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.enums.SuggestionFieldEnum;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.record.BookCursor;
 import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.service.BookChangeService;
+import io.github.wiriswernek.library_api.service.BookExportService;
+import io.github.wiriswernek.library_api.service.BookImportService;
 import io.github.wiriswernek.library_api.service.BookService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -19,14 +35,22 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.CannotCreateTransactionException;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.contains;
@@ -45,6 +69,21 @@ public class BookControllerTest {
     @MockBean
     BookService service;
 
+    @MockBean
+    BookImportService importService;
+
+    @MockBean
+    BookExportService exportService;
+
+    @MockBean
+    BookChangeService changeService;
+
+    @MockBean
+    BookMetrics metrics;
+
+    @Autowired
+    ConcurrencyLimitInterceptor concurrencyLimitInterceptor;
+
     static String BOOK_API = "/api/books";
 
     @Test
@@ -100,7 +139,7 @@ public class BookControllerTest {
                 .content(json);
 
         mockMvc.perform(request)
-                .andExpect(status().isNotAcceptable())
+                .andExpect(status().isConflict())
                 .andExpect(jsonPath("errors", hasSize(1)))
                 .andExpect(jsonPath("errors", contains(ErrosEnum.ISBN_DUPLICADO.toString())));
     }
@@ -134,9 +173,11 @@ public class BookControllerTest {
                 .accept(MediaType.APPLICATION_JSON);
 
         mockMvc.perform(request)
-                .andExpect(status().isNotAcceptable())
+                .andExpect(status().isNotFound())
                 .andExpect(jsonPath("errors", hasSize(1)))
                 .andExpect(jsonPath("errors", contains(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString())));
+
+        Mockito.verify(metrics).recordError(ErrosEnum.LIVRO_NAO_ENCONTRADO);
     }
 
     @Test
@@ -162,7 +203,7 @@ public class BookControllerTest {
                 .accept(MediaType.APPLICATION_JSON);
 
         mockMvc.perform(request)
-                .andExpect(status().isNotAcceptable())
+                .andExpect(status().isNotFound())
                 .andExpect(jsonPath("errors", hasSize(1)))
                 .andExpect(jsonPath("errors", contains(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString())));
     }
@@ -206,7 +247,7 @@ public class BookControllerTest {
                 .content(json);
 
         mockMvc.perform(request)
-                .andExpect(status().isNotAcceptable())
+                .andExpect(status().isNotFound())
                 .andExpect(jsonPath("errors", hasSize(1)))
                 .andExpect(jsonPath("errors", contains(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString())));
     }
@@ -242,7 +283,7 @@ public class BookControllerTest {
                 .content(json);
 
         mockMvc.perform(request)
-                .andExpect(status().isNotAcceptable())
+                .andExpect(status().isConflict())
                 .andExpect(jsonPath("errors", hasSize(1)))
                 .andExpect(jsonPath("errors", contains(ErrosEnum.ISBN_DUPLICADO.toString())));
     }
@@ -252,9 +293,9 @@ public class BookControllerTest {
     public void searchBooksTest() throws Exception {
         Long id = (Long) 1L;
         BookRequest filter = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
-        BookEntity bookEntity = BookEntity.builder().id(id).isbn(filter.isbn()).title(filter.title()).author(filter.author()).build();
-        BDDMockito.given(service.search(Mockito.any(BookRequest.class), Mockito.any(Pageable.class))).willReturn(
-                new PageImpl<BookEntity>(Arrays.asList(bookEntity), PageRequest.of(0, 100), 1));
+        BookDTO book = new BookDTO(id, filter.title(), filter.author(), filter.isbn());
+        BDDMockito.given(service.search(Mockito.any(BookRequest.class), Mockito.any(Pageable.class), Mockito.eq(CountModeEnum.EXACT))).willReturn(
+                new PageImpl<BookDTO>(Arrays.asList(book), PageRequest.of(0, 100), 1));
 
         String json = new ObjectMapper().writeValueAsString(filter);
 
@@ -272,14 +313,56 @@ public class BookControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Deve sugerir títulos e autores pelo prefixo")
+    public void suggestBooksTest() throws Exception {
+        BDDMockito.given(service.suggest("avent", 5)).willReturn(
+                List.of(new BookSuggestionDTO("As Aventuras de PI", SuggestionFieldEnum.TITLE, 2)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/suggest?q=avent&limit=5".formatted(BOOK_API)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].text").value("As Aventuras de PI"))
+                .andExpect(jsonPath("$[0].field").value("TITLE"))
+                .andExpect(jsonPath("$[0].books").value(2));
+    }
+
+    @Test
+    @DisplayName("Deve listar as alterações desde o token com o token da próxima chamada")
+    public void getChangesTest() throws Exception {
+        BookChangeToken since = new BookChangeToken(700L, 10L, Instant.parse("2026-01-01T00:00:00Z"));
+        BookChangeToken next = new BookChangeToken(702L, 12L, Instant.parse("2026-01-01T00:01:00Z"));
+        BDDMockito.given(changeService.findChanges(since, 100)).willReturn(new BookChangePage(List.of(
+                new BookChange(1L, "Primeiro Livro", "Meu Autor", "1", 2L, false, 701L, 11L, Instant.parse("2026-01-01T00:00:30Z")),
+                new BookChange(2L, null, null, null, null, true, 702L, 12L, Instant.parse("2026-01-01T00:00:40Z"))), next, false));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/changes?since=%s".formatted(BOOK_API, since.encode())).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("changes", hasSize(2)))
+                .andExpect(jsonPath("changes[0].title").value("Primeiro Livro"))
+                .andExpect(jsonPath("changes[0].deleted").value(false))
+                .andExpect(jsonPath("changes[1].id").value(2))
+                .andExpect(jsonPath("changes[1].deleted").value(true))
+                .andExpect(jsonPath("next").value(next.encode()))
+                .andExpect(jsonPath("hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("Deve recusar um token de sincronização inválido")
+    public void getChangesInvalidTokenTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/changes?since=invalido".formatted(BOOK_API)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors", contains(ErrosEnum.TOKEN_DE_SINCRONIZACAO_INVALIDO.toString())));
+    }
+
     @Test
     @DisplayName("Deve buscar todos os livros")
     public void getAllBooksTest() throws Exception {
         Long id = (Long) 1L;
         BookRequest filter = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
-        BookEntity bookEntity = BookEntity.builder().id(id).isbn(filter.isbn()).title(filter.title()).author(filter.author()).build();
-        BDDMockito.given(service.findAll(Mockito.any(Pageable.class))).willReturn(
-                new PageImpl<BookEntity>(Arrays.asList(bookEntity), PageRequest.of(0, 100), 1));
+        BookDTO book = new BookDTO(id, filter.title(), filter.author(), filter.isbn());
+        BDDMockito.given(service.findAll(Mockito.any(Pageable.class), Mockito.eq(CountModeEnum.EXACT))).willReturn(
+                new PageImpl<BookDTO>(Arrays.asList(book), PageRequest.of(0, 100), 1));
 
         String json = new ObjectMapper().writeValueAsString(filter);
 
@@ -297,4 +380,216 @@ public class BookControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Deve buscar livros a partir de um cursor sem contar o total")
+    public void getAllBooksAfterCursorTest() throws Exception {
+        BookDTO book = new BookDTO((Long) 9L, "Primeiro Livro", "Meu Autor", "123");
+        BDDMockito.given(service.findAllAfter(10L, 1)).willReturn(
+                new SliceImpl<BookDTO>(Arrays.asList(book), PageRequest.ofSize(1), true));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("%s?after=%s&size=1".formatted(BOOK_API, new BookCursor(10L).encode()))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content", hasSize(1)))
+                .andExpect(jsonPath("size").value(1))
+                .andExpect(jsonPath("nextCursor").value(new BookCursor(9L).encode()))
+                .andExpect(jsonPath("totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve lançar erro ao receber um cursor inválido")
+    public void getAllBooksInvalidCursorTest() throws Exception {
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("%s?after=invalido&size=1".formatted(BOOK_API))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request)
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors", contains(ErrosEnum.CURSOR_INVALIDO.toString())));
+    }
+
+    @Test
+    @DisplayName("Deve buscar livros sem calcular o total quando a contagem for dispensada")
+    public void getAllBooksWithoutCountTest() throws Exception {
+        Long id = (Long) 1L;
+        BookDTO book = new BookDTO(id, "Primeiro Livro", "Meu Autor", "123");
+        BDDMockito.given(service.findAll(Mockito.any(Pageable.class), Mockito.eq(CountModeEnum.NONE))).willReturn(
+                new SliceImpl<BookDTO>(Arrays.asList(book), PageRequest.of(0, 100), true));
+
+        MockHttpServletRequestBuilder request = MockMvcRequestBuilders.get("%s?page=0&size=100&count=NONE".formatted(BOOK_API))
+                .accept(MediaType.APPLICATION_JSON);
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content", hasSize(1)))
+                .andExpect(jsonPath("last").value(false))
+                .andExpect(jsonPath("totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Deve exportar o catálogo em CSV como resposta em fluxo")
+    public void exportBooksTest() throws Exception {
+        Mockito.doAnswer(invocation -> {
+            invocation.getArgument(1, OutputStream.class).write("id,title,author,isbn\n1,Primeiro Livro,Meu Autor,123\n".getBytes(StandardCharsets.UTF_8));
+            return null;
+        }).when(exportService).export(Mockito.eq(BookFormatEnum.CSV), Mockito.any(OutputStream.class));
+
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders.get("%s/export?format=CSV".formatted(BOOK_API)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,title,author,isbn\n1,Primeiro Livro,Meu Autor,123\n"));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 sem corpo quando o If-None-Match corresponder à versão do livro")
+    public void getBookNotModifiedTest() throws Exception {
+        Long id = (Long) 1L;
+        BookEntity bookEntity = new BookEntity(id, "Primeiro Livro", "Meu Autor", "123456789", 3L);
+        BDDMockito.given(service.findById(id)).willReturn(bookEntity);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/%s".formatted(BOOK_API, id)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1:3\""));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/%s".formatted(BOOK_API, id))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1:3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        bookEntity.setVersion(4L);
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/%s".formatted(BOOK_API, id))
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1:3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1:4\""));
+    }
+
+    @Test
+    @DisplayName("Deve retornar 304 para uma página de livros que não mudou")
+    public void getPageNotModifiedTest() throws Exception {
+        BookDTO book = new BookDTO((Long) 1L, "Primeiro Livro", "Meu Autor", "123456789", 0L);
+        BDDMockito.given(service.findAll(Mockito.any(Pageable.class), Mockito.eq(CountModeEnum.EXACT))).willReturn(
+                new PageImpl<BookDTO>(Arrays.asList(book), PageRequest.of(0, 10), 1));
+
+        String etag = mockMvc.perform(MockMvcRequestBuilders.get(BOOK_API).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(MockMvcRequestBuilders.get(BOOK_API).accept(MediaType.APPLICATION_JSON).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("Deve atualizar condicionalmente com If-Match e devolver o ETag da nova versão")
+    public void updateBookIfMatchTest() throws Exception {
+        Long id = (Long) 1L;
+        BookRequest book = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
+        BDDMockito.given(service.update(id, book, 3L)).willReturn(new BookEntity(id, book.title(), book.author(), book.isbn(), 4L));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("%s/%s".formatted(BOOK_API, id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"1:3\"")
+                        .content(new ObjectMapper().writeValueAsString(book)))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1:4\""));
+
+        Mockito.verify(service, Mockito.never()).update(id, book);
+    }
+
+    @Test
+    @DisplayName("Deve retornar 412 quando o If-Match estiver desatualizado ou não corresponder ao livro")
+    public void updateBookPreconditionFailedTest() throws Exception {
+        Long id = (Long) 1L;
+        BookRequest book = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
+        BDDMockito.given(service.update(id, book, 3L)).willThrow(new BusinessExcetion(ErrosEnum.VERSAO_DESATUALIZADA));
+        String json = new ObjectMapper().writeValueAsString(book);
+
+        mockMvc.perform(MockMvcRequestBuilders.put("%s/%s".formatted(BOOK_API, id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "\"1:3\"")
+                        .content(json))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("errors", contains(ErrosEnum.VERSAO_DESATUALIZADA.toString())));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("%s/%s".formatted(BOOK_API, id))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_MATCH, "W/\"1:3\", \"2:3\"")
+                        .content(json))
+                .andExpect(status().isPreconditionFailed());
+
+        Mockito.verify(service, Mockito.times(1)).update(id, book, 3L);
+    }
+    @Test
+    @DisplayName("Deve buscar vários livros por ID na ordem pedida informando os inexistentes")
+    public void getBooksByIdsTest() throws Exception {
+        BookEntity first = new BookEntity((Long) 1L, "Primeiro Livro", "Meu Autor", "1");
+        BookEntity third = new BookEntity((Long) 3L, "Terceiro Livro", "Meu Autor", "3");
+        BDDMockito.given(service.findAllById(Arrays.asList(3L, 2L, 1L)))
+                .willReturn(new BookBatch(Arrays.asList(third, first), Arrays.asList(2L)));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s?ids=3,2,1".formatted(BOOK_API)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content[*].id", contains(3, 1)))
+                .andExpect(jsonPath("missing", contains(2)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("%s/batch".formatted(BOOK_API))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[3,2,1]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("content[*].id", contains(3, 1)));
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 uma consulta que combina ids e after")
+    public void getBooksByIdsAfterTest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("%s?ids=3,2,1&after=".formatted(BOOK_API)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("errors", contains(ErrosEnum.PARAMETROS_INCOMPATIVEIS.toString())));
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("Deve recusar leituras com 503 e Retry-After quando o limite de leituras estiver esgotado, sem afetar escritas")
+    public void readLimitExhaustedTest() throws Exception {
+        AdaptiveLimiter reads = concurrencyLimitInterceptor.limiter(ConcurrencyBudgetEnum.READ);
+        int acquired = 0;
+        while (reads.tryAcquire()) {
+            acquired++;
+        }
+        try {
+            mockMvc.perform(MockMvcRequestBuilders.get("%s/%s".formatted(BOOK_API, 1L)).accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                    .andExpect(jsonPath("errors", contains(ErrosEnum.SERVICO_SOBRECARREGADO.toString())));
+            BDDMockito.given(service.delete(1L)).willReturn(Boolean.TRUE);
+            mockMvc.perform(MockMvcRequestBuilders.delete("%s/%s".formatted(BOOK_API, 1L)))
+                    .andExpect(status().isNoContent());
+        } finally {
+            for (int i = 0; i < acquired; i++) {
+                reads.release(0, false);
+            }
+        }
+
+        Mockito.verify(service, Mockito.never()).findById(1L);
+    }
+
+    @Test
+    @DisplayName("Deve responder 503 com Retry-After quando não houver conexão disponível no pool")
+    public void connectionUnavailableTest() throws Exception {
+        BDDMockito.given(service.findById(3L)).willThrow(new CannotCreateTransactionException("Connection is not available, request timed out"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("%s/%s".formatted(BOOK_API, 3L)).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(jsonPath("errors", contains(ErrosEnum.SERVICO_SOBRECARREGADO.toString())));
+
+        Mockito.verify(metrics).recordError(ErrosEnum.SERVICO_SOBRECARREGADO);
+    }
 }
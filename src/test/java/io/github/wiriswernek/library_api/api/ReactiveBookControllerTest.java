@@ -0,0 +1,200 @@
+package io.github.wiriswernek.library_api.api;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.enums.SuggestionFieldEnum;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.service.BookChangeService;
+import io.github.wiriswernek.library_api.service.ReactiveBookService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.BDDMockito;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(SpringExtension.class)
+@ActiveProfiles("test")
+@WebFluxTest(controllers = ReactiveBookController.class)
+public class ReactiveBookControllerTest {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @MockBean
+    ReactiveBookService service;
+
+    @MockBean
+    BookMetrics metrics;
+
+    @MockBean
+    BookChangeService changeService;
+
+    static String BOOK_API = "/api/books";
+
+    @Test
+    @DisplayName("Deve criar um livro com sucesso na pilha reativa")
+    public void creatBookTest() {
+        BookRequest book = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
+        BookEntity savedBook = new BookEntity((Long) 1L, "Primeiro Livro", "Meu Autor", "123456789");
+        BDDMockito.given(service.save(Mockito.any(BookRequest.class))).willReturn(Mono.just(savedBook));
+
+        webTestClient.post().uri(BOOK_API)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("id").isEqualTo(1)
+                .jsonPath("title").isEqualTo(book.title())
+                .jsonPath("author").isEqualTo(book.author())
+                .jsonPath("isbn").isEqualTo(book.isbn());
+    }
+
+    @Test
+    @DisplayName("Deve retornar os mesmos erros de validação da pilha servlet")
+    public void creatInvalidBookTest() {
+        webTestClient.post().uri(BOOK_API)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(BookRequest.builder().build())
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors.length()").isEqualTo(3);
+
+        Mockito.verify(service, Mockito.never()).save(Mockito.any(BookRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve retornar o erro de negócio quando o livro não existir")
+    public void bookNotFoundTest() {
+        BDDMockito.given(service.findById(Mockito.anyLong()))
+                .willReturn(Mono.error(new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO)));
+
+        webTestClient.get().uri(BOOK_API + "/1")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("errors[0]").isEqualTo(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
+    }
+
+    @Test
+    @DisplayName("Deve recusar com 400 uma consulta que combina ids e after")
+    public void getBooksByIdsAfterTest() {
+        webTestClient.get().uri(BOOK_API + "?ids=3,2,1&after=")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[0]").isEqualTo(ErrosEnum.PARAMETROS_INCOMPATIVEIS.toString());
+
+        Mockito.verifyNoInteractions(service);
+    }
+
+    @Test
+    @DisplayName("Deve listar livros paginados sem total na pilha reativa")
+    public void listWithoutCountTest() {
+        BookEntity book = new BookEntity((Long) 1L, "Primeiro Livro", "Meu Autor", "123456789");
+        BDDMockito.given(service.findAll(Mockito.any(Pageable.class), Mockito.eq(CountModeEnum.NONE)))
+                .willReturn(Mono.just(new SliceImpl<>(Arrays.asList(book), PageRequest.of(0, 100), true)));
+
+        webTestClient.get().uri(BOOK_API + "?page=0&size=100&count=NONE")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("content.length()").isEqualTo(1)
+                .jsonPath("last").isEqualTo(false)
+                .jsonPath("totalElements").doesNotExist();
+
+        ArgumentCaptor<Pageable> pageable = ArgumentCaptor.forClass(Pageable.class);
+        Mockito.verify(service).findAll(pageable.capture(), Mockito.eq(CountModeEnum.NONE));
+        assertThat(pageable.getValue().getPageSize()).isEqualTo(100);
+    }
+
+    @Test
+    @DisplayName("Deve excluir e atualizar um livro na pilha reativa")
+    public void deleteAndUpdateBookTest() {
+        BookRequest book = new BookRequest("Primeiro Livro", "Meu Autor", "123456789");
+        BDDMockito.given(service.delete(1L)).willReturn(Mono.empty());
+        BDDMockito.given(service.update(Mockito.eq(1L), Mockito.any(BookRequest.class)))
+                .willReturn(Mono.just(new BookEntity((Long) 1L, book.title(), book.author(), book.isbn())));
+
+        webTestClient.delete().uri(BOOK_API + "/1").exchange().expectStatus().isNoContent();
+        webTestClient.put().uri(BOOK_API + "/1")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("Deve sugerir títulos e autores pelo prefixo na pilha reativa")
+    public void suggestBooksTest() {
+        BDDMockito.given(service.suggest("avent", 5)).willReturn(
+                Mono.just(List.of(new BookSuggestionDTO("As Aventuras de PI", SuggestionFieldEnum.TITLE, 2))));
+
+        webTestClient.get().uri(BOOK_API + "/suggest?q=avent&limit=5")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.length()").isEqualTo(1)
+                .jsonPath("$[0].text").isEqualTo("As Aventuras de PI")
+                .jsonPath("$[0].field").isEqualTo("TITLE")
+                .jsonPath("$[0].books").isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve listar as alterações desde o token na pilha reativa")
+    public void getChangesTest() {
+        BookChangeToken since = new BookChangeToken(700L, 10L, Instant.parse("2026-01-01T00:00:00Z"));
+        BookChangeToken next = new BookChangeToken(702L, 12L, Instant.parse("2026-01-01T00:01:00Z"));
+        BDDMockito.given(changeService.findChanges(since, 100)).willReturn(new BookChangePage(List.of(
+                new BookChange(1L, "Primeiro Livro", "Meu Autor", "1", 2L, false, 701L, 11L, Instant.parse("2026-01-01T00:00:30Z")),
+                new BookChange(2L, null, null, null, null, true, 702L, 12L, Instant.parse("2026-01-01T00:00:40Z"))), next, false));
+
+        webTestClient.get().uri(BOOK_API + "/changes?since=" + since.encode())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("changes.length()").isEqualTo(2)
+                .jsonPath("changes[0].title").isEqualTo("Primeiro Livro")
+                .jsonPath("changes[1].deleted").isEqualTo(true)
+                .jsonPath("next").isEqualTo(next.encode())
+                .jsonPath("hasMore").isEqualTo(false);
+    }
+
+    @Test
+    @DisplayName("Deve recusar um token de sincronização inválido na pilha reativa")
+    public void getChangesInvalidTokenTest() {
+        webTestClient.get().uri(BOOK_API + "/changes?since=invalido")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("errors[0]").isEqualTo(ErrosEnum.TOKEN_DE_SINCRONIZACAO_INVALIDO.toString());
+
+        Mockito.verifyNoInteractions(changeService);
+    }
+}
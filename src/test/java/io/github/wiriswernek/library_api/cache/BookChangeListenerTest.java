@@ -0,0 +1,62 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.BookCacheProperties;
+import io.github.wiriswernek.library_api.config.BookInvalidationProperties;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookChangeListenerTest {
+
+    private BookCache bookCache;
+
+    private BookQueryCache bookQueryCache;
+
+    private BookSuggestIndex bookSuggestIndex;
+
+    private BookChangeListener listener;
+
+    @BeforeEach
+    public void setUp() {
+        bookCache = new BookCache(new BookCacheProperties(true, 100, Duration.ofMinutes(10), true, Duration.ofSeconds(30)));
+        bookQueryCache = Mockito.mock(BookQueryCache.class);
+        bookSuggestIndex = Mockito.mock(BookSuggestIndex.class);
+        listener = new BookChangeListener(bookCache, bookQueryCache, bookSuggestIndex,
+                new BookInvalidationProperties(true, Duration.ofSeconds(1), Duration.ofSeconds(5)), null, null);
+
+        bookCache.put(new BookEntity(1L, "Título 1", "Autor", "111"));
+        bookCache.put(new BookEntity(2L, "Título 2", "Autor", "222"));
+        bookCache.putMissing(3L);
+    }
+
+    @Test
+    @DisplayName("Deve descartar apenas os livros notificados e a região de busca")
+    public void applyIdsTest() {
+        listener.apply("1,3");
+
+        assertThat(bookCache.get(1L)).isNull();
+        assertThat(bookCache.get(3L)).isNull();
+        assertThat(bookCache.get(2L)).isNotNull();
+        Mockito.verify(bookQueryCache).evict();
+        Mockito.verify(bookSuggestIndex).refresh(List.of(1L, 3L));
+    }
+
+    @Test
+    @DisplayName("Deve descartar o cache inteiro quando a notificação não lista os IDs")
+    public void applyAllTest() {
+        listener.apply(BookChangeListener.ALL);
+
+        assertThat(bookCache.get(1L)).isNull();
+        assertThat(bookCache.get(2L)).isNull();
+        assertThat(bookCache.get(3L)).isNull();
+        Mockito.verify(bookQueryCache).evict();
+        Mockito.verify(bookSuggestIndex).invalidate();
+    }
+}
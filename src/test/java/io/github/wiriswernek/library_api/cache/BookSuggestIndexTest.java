@@ -0,0 +1,121 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.BookSuggestProperties;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.dto.BookSuggestionDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.SuggestionFieldEnum;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookSuggestIndexTest {
+
+    private IBookRepository bookRepository;
+
+    private BookSuggestIndex index;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository = Mockito.mock(IBookRepository.class);
+        Mockito.when(bookRepository.streamAll(1000)).thenReturn(Stream.of(
+                new BookDTO(1L, "As Aventuras de PI", "Yann Martel", "111"),
+                new BookDTO(2L, "Aventuras de Tom Sawyer", "Mark Twain", "222"),
+                new BookDTO(3L, "Ação Imediata", "Lee Child", "333"),
+                new BookDTO(4L, "Vida de Pi", "Yann Martel", "444")));
+        index = new BookSuggestIndex(bookRepository, new BookSuggestProperties(true, 6, 20, Duration.ofHours(6), Duration.ofMinutes(1), 1000, 3));
+    }
+
+    @Test
+    @DisplayName("Deve responder vazio até a primeira carga")
+    public void emptyBeforeRebuildTest() {
+        assertThat(index.suggest("avent", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve casar o início de qualquer palavra ignorando acentos e maiúsculas")
+    public void prefixAndAccentFoldingTest() {
+        index.rebuild();
+
+        assertThat(index.suggest("AVENT", 10)).extracting(BookSuggestionDTO::getText)
+                .containsExactly("Aventuras de Tom Sawyer", "As Aventuras de PI");
+        assertThat(index.suggest("acao", 10)).extracting(BookSuggestionDTO::getText).containsExactly("Ação Imediata");
+        assertThat(index.suggest("twa", 10)).extracting(BookSuggestionDTO::getField).containsExactly(SuggestionFieldEnum.AUTHOR);
+        assertThat(index.suggest("  ", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Deve agrupar completações repetidas e colocar as mais frequentes primeiro")
+    public void rankingTest() {
+        index.rebuild();
+
+        List<BookSuggestionDTO> suggestions = index.suggest("y", 10);
+
+        assertThat(suggestions).hasSize(1);
+        assertThat(suggestions.get(0).getText()).isEqualTo("Yann Martel");
+        assertThat(suggestions.get(0).getBooks()).isEqualTo(2);
+        assertThat(index.suggest("a", 1)).extracting(BookSuggestionDTO::getText).containsExactly("Ação Imediata");
+    }
+
+    @Test
+    @DisplayName("Deve trazer a completação mais frequente mesmo quando muitas outras vêm antes em ordem alfabética")
+    public void rankAllCandidatesTest() {
+        List<BookDTO> books = new ArrayList<>();
+        for (long id = 1; id <= 300; id++) {
+            books.add(new BookDTO(id, "Mar %03d".formatted(id), "Autor " + id, "isbn-" + id));
+        }
+        for (long id = 301; id <= 303; id++) {
+            books.add(new BookDTO(id, "Maré Vermelha", "Autor " + id, "isbn-" + id));
+        }
+        Mockito.when(bookRepository.streamAll(1000)).thenReturn(books.stream());
+        index.rebuild();
+
+        assertThat(index.suggest("m", 1)).extracting(BookSuggestionDTO::getText).containsExactly("Maré Vermelha");
+        assertThat(index.suggest("mare", 1)).extracting(BookSuggestionDTO::getBooks).containsExactly(3);
+        assertThat(index.suggest("mar 2", 1)).extracting(BookSuggestionDTO::getText).containsExactly("Mar 200");
+
+        index.put(304L, "Mar 001", "Autor 304");
+        index.put(305L, "Mar 001", "Autor 305");
+        index.put(306L, "Mar 001", "Autor 306");
+        index.put(307L, "Mar 001", "Autor 307");
+
+        assertThat(index.suggest("m", 1)).extracting(BookSuggestionDTO::getText).containsExactly("Mar 001");
+    }
+
+    @Test
+    @DisplayName("Deve refletir inclusões, alterações e exclusões sem recarregar")
+    public void incrementalUpdatesTest() {
+        index.rebuild();
+
+        index.put(5L, "Avalanche", "Fulano");
+        index.put(1L, "As Aventuras de PI 2", "Yann Martel");
+        index.remove(2L);
+
+        assertThat(index.suggest("ava", 10)).extracting(BookSuggestionDTO::getText).containsExactly("Avalanche");
+        assertThat(index.suggest("aventuras", 10)).extracting(BookSuggestionDTO::getText).containsExactly("As Aventuras de PI 2");
+        assertThat(index.suggest("twain", 10)).isEmpty();
+        Mockito.verify(bookRepository, Mockito.times(1)).streamAll(1000);
+    }
+
+    @Test
+    @DisplayName("Deve reler do banco os livros alterados por outro nó")
+    public void refreshTest() {
+        index.rebuild();
+        Mockito.when(bookRepository.findAllById(List.of(3L, 4L))).thenReturn(List.of(new BookEntity(3L, "Ação Tardia", "Lee Child", "333")));
+
+        index.refresh(List.of(3L, 4L));
+
+        assertThat(index.suggest("acao", 10)).extracting(BookSuggestionDTO::getText).containsExactly("Ação Tardia");
+        assertThat(index.suggest("vida", 10)).isEmpty();
+        assertThat(index.suggest("yann", 10)).extracting(BookSuggestionDTO::getBooks).containsExactly(1);
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.wiriswernek.library_api.cache;
+
+import io.github.wiriswernek.library_api.config.IsbnFilterProperties;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.utils.BloomFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IsbnFilterTest {
+
+    @Test
+    @DisplayName("Deve tratar todo ISBN como provável até a primeira carga e depois descartar os ausentes")
+    public void rebuildFromDatabaseTest() {
+        IBookRepository bookRepository = Mockito.mock(IBookRepository.class);
+        Mockito.when(bookRepository.count()).thenReturn(2L);
+        Mockito.when(bookRepository.streamIsbns(1000)).thenReturn(Stream.of("111", "222"));
+        IsbnFilter isbnFilter = new IsbnFilter(bookRepository, new IsbnFilterProperties(true, 1000, 0.01, Duration.ofHours(6), 1000));
+
+        assertThat(isbnFilter.mightContain("999")).isTrue();
+
+        isbnFilter.rebuild();
+        isbnFilter.add("333");
+
+        assertThat(isbnFilter.mightContain("111")).isTrue();
+        assertThat(isbnFilter.mightContain("222")).isTrue();
+        assertThat(isbnFilter.mightContain("333")).isTrue();
+        assertThat(isbnFilter.mightContain("999")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Deve informar se o lote passou por um filtro construído, para não contar falsos positivos antes da carga")
+    public void lookupBeforeRebuildTest() {
+        IBookRepository bookRepository = Mockito.mock(IBookRepository.class);
+        Mockito.when(bookRepository.count()).thenReturn(1L);
+        Mockito.when(bookRepository.streamIsbns(1000)).thenReturn(Stream.of("111"));
+        IsbnFilter isbnFilter = new IsbnFilter(bookRepository, new IsbnFilterProperties(true, 1000, 0.01, Duration.ofHours(6), 1000));
+
+        IsbnFilter.Lookup unbuilt = isbnFilter.lookup(List.of("111", "999"));
+        isbnFilter.rebuild();
+        IsbnFilter.Lookup built = isbnFilter.lookup(List.of("111", "999"));
+
+        assertThat(unbuilt.filtered()).isFalse();
+        assertThat(unbuilt.probable()).containsExactly("111", "999");
+        assertThat(built.filtered()).isTrue();
+        assertThat(built.probable()).containsExactly("111");
+    }
+
+    @Test
+    @DisplayName("Deve manter a taxa de falso positivo perto da configurada e nunca dar falso negativo")
+    public void falsePositiveRateTest() {
+        BloomFilter filter = BloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("978-" + i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filter.mightContain("978-" + i)).isTrue();
+            if (filter.mightContain("979-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives / 10_000.0).isLessThan(0.02);
+        assertThat(filter.expectedFalsePositiveRate()).isBetween(0.005, 0.02);
+        assertThat(filter.sizeInBytes()).isLessThan(16 * 1024);
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.wiriswernek.library_api.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.wiriswernek.library_api.datasource.ConcurrencyLimitedDataSource;
+import io.github.wiriswernek.library_api.datasource.ReadWriteRoutingDataSource;
+import io.github.wiriswernek.library_api.datasource.ReplicaDataSources;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.CompositeHealthContributor;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DataSourceReplicaConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+            .withUserConfiguration(DataSourceReplicaConfig.class, ReplicaPropertiesConfig.class)
+            .withPropertyValues("spring.datasource.url=jdbc:h2:mem:replica-config-primary",
+                    "library.datasource.replicas.urls=jdbc:h2:mem:replica-config-0,jdbc:h2:mem:replica-config-1");
+
+    @EnableConfigurationProperties(DataSourceReplicaProperties.class)
+    static class ReplicaPropertiesConfig {
+    }
+
+    @Test
+    @DisplayName("Deve publicar métricas e health dos pools das réplicas e fechá-los ao encerrar o contexto")
+    public void replicaPoolsLifecycleTest() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        contextRunner.run(context -> {
+            DataSource dataSource = context.getBean(DataSource.class);
+            ReplicaDataSources replicas = context.getBean(ReplicaDataSources.class);
+            pools.addAll(replicas.getPools());
+            replicas.bindTo(registry);
+
+            TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+            transactionTemplate.setReadOnly(true);
+            transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+
+            assertThat(dataSource).isInstanceOf(ReadWriteRoutingDataSource.class);
+            assertThat(pools).extracting(HikariDataSource::getPoolName).containsExactly("replica-0", "replica-1");
+            assertThat(pools.get(0).isRunning()).isTrue();
+            assertThat(registry.find("hikaricp.connections").tag("pool", "replica-0").gauge()).isNotNull();
+            assertThat(context.getBean("replicasHealthContributor", CompositeHealthContributor.class).getContributor("replica-1")).isNotNull();
+        });
+
+        assertThat(pools).hasSize(2).allMatch(HikariDataSource::isClosed);
+    }
+
+    @Test
+    @DisplayName("Deve limitar cada pool pelo próprio tamanho no modo de threads virtuais")
+    public void guardPerPoolTest() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+        contextRunner.withUserConfiguration(DataSourceGuardConfig.class, GuardPropertiesConfig.class)
+                .withPropertyValues("spring.threads.virtual.enabled=true",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "library.datasource.replicas.maximum-pool-size=3")
+                .run(context -> {
+                    DataSource dataSource = context.getBean(DataSource.class);
+                    context.getBean("concurrencyLimitedDataSourceMetrics", MeterBinder.class).bindTo(registry);
+
+                    assertThat(dataSource).isInstanceOf(ReadWriteRoutingDataSource.class);
+                    List<DataSource> targets = ((ReadWriteRoutingDataSource) dataSource).getTargets();
+                    assertThat(targets).hasSize(3).allMatch(ConcurrencyLimitedDataSource.class::isInstance);
+                    assertThat(targets).extracting(target -> ((ConcurrencyLimitedDataSource) target).getMaxConcurrency())
+                            .containsExactly(7, 3, 3);
+                    assertThat(registry.find("library.datasource.permits.available").tag("pool", "primary").gauge().value()).isEqualTo(7);
+                    assertThat(registry.find("library.datasource.permits.available").tag("pool", "replica-1").gauge().value()).isEqualTo(3);
+
+                    TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+                    transactionTemplate.setReadOnly(true);
+                    transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT 1", Integer.class));
+                });
+    }
+
+    @EnableConfigurationProperties(DataSourceGuardProperties.class)
+    static class GuardPropertiesConfig {
+    }
+}
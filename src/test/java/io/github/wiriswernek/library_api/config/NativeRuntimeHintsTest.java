@@ -0,0 +1,28 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NativeRuntimeHintsTest {
+
+    @Test
+    @DisplayName("Deve registrar as migrações e os tipos lidos pelo ObjectMapper para a imagem nativa")
+    public void registerHintsTest() {
+        RuntimeHints hints = new RuntimeHints();
+
+        new NativeRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/common/V1__create_book.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("db/migration/postgresql/V2__book_search_indexes.sql")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.resource().forResource("application.conf")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookRequest.class).withMemberCategory(MemberCategory.INVOKE_DECLARED_CONSTRUCTORS)).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onType(BookDTO.class)).accepts(hints);
+    }
+}
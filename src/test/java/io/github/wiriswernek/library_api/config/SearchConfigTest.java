@@ -0,0 +1,54 @@
+package io.github.wiriswernek.library_api.config;
+
+import io.github.wiriswernek.library_api.model.enums.SearchEngineEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.BookSearchEngine;
+import io.github.wiriswernek.library_api.service.imp.ExampleBookSearchEngine;
+import io.github.wiriswernek.library_api.service.imp.TrigramBookSearchEngine;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.jdbc.spi.JdbcServices;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchConfigTest {
+
+    private final SearchConfig searchConfig = new SearchConfig();
+
+    private final IBookRepository bookRepository = Mockito.mock(IBookRepository.class);
+
+    private static EntityManagerFactory withDialect(Dialect dialect) {
+        JdbcServices jdbcServices = Mockito.mock(JdbcServices.class);
+        Mockito.when(jdbcServices.getDialect()).thenReturn(dialect);
+        SessionFactoryImplementor sessionFactory = Mockito.mock(SessionFactoryImplementor.class);
+        Mockito.when(sessionFactory.getJdbcServices()).thenReturn(jdbcServices);
+        EntityManagerFactory entityManagerFactory = Mockito.mock(EntityManagerFactory.class);
+        Mockito.when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        return entityManagerFactory;
+    }
+
+    private BookSearchEngine engine(SearchEngineEnum engine, Dialect dialect) {
+        return searchConfig.bookSearchEngine(new SearchProperties(engine), bookRepository, new BookMapper(), withDialect(dialect));
+    }
+
+    @Test
+    @DisplayName("Deve escolher trigramas no PostgreSQL e Query by Example nos demais bancos com AUTO")
+    public void autoEngineTest() {
+        assertThat(engine(SearchEngineEnum.AUTO, new PostgreSQLDialect())).isInstanceOf(TrigramBookSearchEngine.class);
+        assertThat(engine(SearchEngineEnum.AUTO, new H2Dialect())).isInstanceOf(ExampleBookSearchEngine.class);
+    }
+
+    @Test
+    @DisplayName("Deve respeitar o mecanismo configurado independentemente do banco")
+    public void explicitEngineTest() {
+        assertThat(engine(SearchEngineEnum.TRIGRAM, new H2Dialect())).isInstanceOf(TrigramBookSearchEngine.class);
+        assertThat(engine(SearchEngineEnum.EXAMPLE, new PostgreSQLDialect())).isInstanceOf(ExampleBookSearchEngine.class);
+    }
+}
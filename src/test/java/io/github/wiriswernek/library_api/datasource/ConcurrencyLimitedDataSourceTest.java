@@ -0,0 +1,66 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ConcurrencyLimitedDataSourceTest {
+
+    @Test
+    @DisplayName("Deve recusar a conexão quando o limite de acessos simultâneos for atingido")
+    public void limitReachedTest() throws Exception {
+        DataSource target = Mockito.mock(DataSource.class);
+        Mockito.when(target.getConnection()).thenAnswer(invocation -> Mockito.mock(Connection.class));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        Throwable exception = Assertions.catchThrowable(dataSource::getConnection);
+
+        assertThat(exception).isInstanceOf(SQLTransientConnectionException.class);
+        Mockito.verify(target, Mockito.times(1)).getConnection();
+        first.close();
+    }
+
+    @Test
+    @DisplayName("Deve liberar a permissão uma única vez ao fechar a conexão")
+    public void releaseOnCloseTest() throws Exception {
+        DataSource target = Mockito.mock(DataSource.class);
+        Connection connection = Mockito.mock(Connection.class);
+        Mockito.when(target.getConnection()).thenReturn(connection);
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        first.close();
+        first.close();
+        Connection second = dataSource.getConnection();
+        Throwable exception = Assertions.catchThrowable(dataSource::getConnection);
+
+        assertThat(second).isNotNull();
+        assertThat(exception).isInstanceOf(SQLTransientConnectionException.class);
+        Mockito.verify(connection, Mockito.times(2)).close();
+    }
+
+    @Test
+    @DisplayName("Deve devolver a permissão quando o pool falhar ao entregar a conexão")
+    public void releaseOnFailureTest() throws Exception {
+        DataSource target = Mockito.mock(DataSource.class);
+        Mockito.when(target.getConnection()).thenThrow(new SQLException("pool indisponível"))
+                .thenAnswer(invocation -> Mockito.mock(Connection.class));
+        ConcurrencyLimitedDataSource dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(50));
+
+        Throwable exception = Assertions.catchThrowable(dataSource::getConnection);
+        Connection connection = dataSource.getConnection();
+
+        assertThat(exception).isInstanceOf(SQLException.class).hasMessage("pool indisponível");
+        assertThat(connection).isNotNull();
+    }
+}
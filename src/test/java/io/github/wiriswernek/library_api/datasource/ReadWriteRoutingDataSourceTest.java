@@ -0,0 +1,78 @@
+package io.github.wiriswernek.library_api.datasource;
+
+import io.github.wiriswernek.library_api.model.enums.ReplicaBalancingEnum;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ReadWriteRoutingDataSourceTest {
+
+    @Test
+    @DisplayName("Deve enviar transações somente leitura à réplica e as demais ao primário")
+    public void routeReadOnlyToReplicaTest() {
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(database("primary"),
+                List.of(database("replica")), ReplicaBalancingEnum.ROUND_ROBIN);
+
+        assertThat(nodeName(dataSource, true)).isEqualTo("replica");
+        assertThat(nodeName(dataSource, false)).isEqualTo("primary");
+        try (DataSourceRouting.Pin ignored = DataSourceRouting.pinToPrimary()) {
+            assertThat(nodeName(dataSource, true)).isEqualTo("primary");
+        }
+        assertThat(nodeName(dataSource, true)).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("Deve alternar as réplicas em rodízio")
+    public void roundRobinTest() {
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(database("primary-rr"),
+                List.of(database("replica-a"), database("replica-b")), ReplicaBalancingEnum.ROUND_ROBIN);
+
+        assertThat(List.of(nodeName(dataSource, true), nodeName(dataSource, true), nodeName(dataSource, true)))
+                .containsExactly("replica-a", "replica-b", "replica-a");
+    }
+
+    @Test
+    @DisplayName("Deve aplicar o limite a cada pool, sem que leituras nas réplicas ocupem permissões do primário")
+    public void guardPerPoolTest() throws Exception {
+        ReadWriteRoutingDataSource dataSource = new ReadWriteRoutingDataSource(database("primary-guard"),
+                List.of(database("replica-guard")), ReplicaBalancingEnum.ROUND_ROBIN)
+                .withGuard(pool -> new ConcurrencyLimitedDataSource(pool, 1, Duration.ofMillis(100)));
+        ConcurrencyLimitedDataSource replica = (ConcurrencyLimitedDataSource) dataSource.getTargets().get(1);
+
+        try (Connection ignored = replica.getConnection()) {
+            assertThat(nodeName(dataSource, false)).isEqualTo("primary-guard");
+            assertThatThrownBy(() -> nodeName(dataSource, true)).hasRootCauseInstanceOf(SQLTransientConnectionException.class);
+        }
+        assertThat(nodeName(dataSource, true)).isEqualTo("replica-guard");
+    }
+
+    /**
+     * Um banco H2 em memória por nó, com uma tabela que identifica o nó.
+     */
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:routing-" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS node (name VARCHAR(32))");
+        jdbcTemplate.update("DELETE FROM node");
+        jdbcTemplate.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+
+    private static String nodeName(DataSource dataSource, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+}
@@ -0,0 +1,21 @@
+package io.github.wiriswernek.library_api.exceptions;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ErrosEnumTest {
+
+    @Test
+    @DisplayName("Deve entregar um corpo de erro novo a cada chamada, sem que alterações vazem para as próximas respostas")
+    public void apiErrorsNotSharedTest() {
+        ApiErrors apiErrors = ErrosEnum.LIVRO_NAO_ENCONTRADO.getApiErrors();
+        apiErrors.setErrors(List.of("alterado"));
+
+        assertThat(ErrosEnum.LIVRO_NAO_ENCONTRADO.getApiErrors()).isNotSameAs(apiErrors);
+        assertThat(ErrosEnum.LIVRO_NAO_ENCONTRADO.getApiErrors().getErrors()).containsExactly("LIVRO_NAO_ENCONTRADO");
+    }
+}
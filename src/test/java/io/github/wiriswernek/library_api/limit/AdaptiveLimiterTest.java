@@ -0,0 +1,52 @@
+package io.github.wiriswernek.library_api.limit;
+
+import io.github.wiriswernek.library_api.config.ConcurrencyLimitProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdaptiveLimiterTest {
+
+    static final long FAST = Duration.ofMillis(5).toNanos();
+
+    static final long SLOW = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    @DisplayName("Deve recusar na hora as requisições acima do limite")
+    public void rejectAboveLimitTest() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("read", budget(2, Duration.ofMillis(100)));
+
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isFalse();
+        assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve reduzir o limite com respostas lentas e recuperá-lo com respostas rápidas sob carga")
+    public void adaptToLatencyTest() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("read", budget(20, Duration.ofMillis(100)));
+
+        limiter.tryAcquire();
+        limiter.release(SLOW, false);
+        assertThat(limiter.getLimit()).isEqualTo(10);
+
+        for (int i = 0; i < 200; i++) {
+            while (limiter.tryAcquire()) {
+                // ocupa todo o limite para que as respostas rápidas contem como sinal
+            }
+            limiter.release(FAST, false);
+            while (limiter.getInFlight() > 0) {
+                limiter.release(FAST, false);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    private static ConcurrencyLimitProperties.Budget budget(int initialLimit, Duration latencyThreshold) {
+        return new ConcurrencyLimitProperties.Budget(initialLimit, 1, 40, latencyThreshold, 0.5);
+    }
+}
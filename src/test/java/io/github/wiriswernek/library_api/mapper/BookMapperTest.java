@@ -0,0 +1,57 @@
+package io.github.wiriswernek.library_api.mapper;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookMapperTest {
+
+    BookMapper bookMapper = new BookMapper();
+
+    @Test
+    @DisplayName("Deve converter a requisição em entidade sem ID")
+    public void requestToEntityTest() {
+        BookRequest request = new BookRequest("As Aventuras de PI", "Fulano", "123");
+
+        BookEntity entity = bookMapper.toEntity(request);
+
+        assertThat(entity.getId()).isNull();
+        assertThat(entity.getTitle()).isEqualTo(request.title());
+        assertThat(entity.getAuthor()).isEqualTo(request.author());
+        assertThat(entity.getIsbn()).isEqualTo(request.isbn());
+    }
+
+    @Test
+    @DisplayName("Deve converter a entidade em DTO")
+    public void entityToDTOTest() {
+        BookEntity entity = BookEntity.builder().id((Long) 1L).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+
+        BookDTO dto = bookMapper.toDTO(entity);
+
+        assertThat(dto).isEqualTo(new BookDTO(1L, "As Aventuras de PI", "Fulano", "123"));
+    }
+
+    @Test
+    @DisplayName("Deve converter uma página de entidades mantendo a paginação")
+    public void pageToDTOPageTest() {
+        BookEntity entity = BookEntity.builder().id((Long) 1L).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        Page<BookEntity> page = new PageImpl<BookEntity>(Arrays.asList(entity), PageRequest.of(2, 10), 21);
+
+        Page<BookDTO> result = bookMapper.toDTOPage(page);
+
+        assertThat(result.getContent()).containsExactly(bookMapper.toDTO(entity));
+        assertThat(result.getTotalElements()).isEqualTo(21);
+        assertThat(result.getPageable().getPageNumber()).isEqualTo(2);
+        assertThat(result.getPageable().getPageSize()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.wiriswernek.library_api.model.repository;
+
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookSearchSqlTest {
+
+    private static final String SELECT = "SELECT b.id, b.title, b.author, b.isbn, b.version FROM book b";
+
+    private static final String PAGE = " LIMIT :limit OFFSET :offset";
+
+    @Test
+    @DisplayName("Deve buscar sem condição e na ordem pedida quando o filtro estiver vazio")
+    public void emptyFilterTest() {
+        BookSearchSql search = BookSearchSql.of(new BookRequest(" ", null, ""));
+
+        assertThat(search.select(Sort.by("title"), true)).isEqualTo(SELECT + " ORDER BY b.title ASC, b.id DESC" + PAGE);
+        assertThat(search.count()).isEqualTo("SELECT count(*) FROM book b");
+        assertThat(search.explain()).isEqualTo("EXPLAIN (FORMAT JSON) SELECT b.id FROM book b");
+        assertThat(search.parameters(true)).isEmpty();
+        assertThat(BookSearchSql.of(null).count()).isEqualTo("SELECT count(*) FROM book b");
+    }
+
+    @Test
+    @DisplayName("Deve gerar uma condição e um termo de relevância para cada campo preenchido")
+    public void singleFieldFilterTest() {
+        assertThat(BookSearchSql.of(new BookRequest("Aventuras", null, null)).select(Sort.unsorted(), true))
+                .isEqualTo(SELECT + " WHERE lower(b.title) LIKE :title ESCAPE '\\'"
+                        + " ORDER BY (word_similarity(:title_rank, lower(b.title))) DESC, b.id DESC" + PAGE);
+        assertThat(BookSearchSql.of(new BookRequest(null, "Fulano", null)).count())
+                .isEqualTo("SELECT count(*) FROM book b WHERE lower(b.author) LIKE :author ESCAPE '\\'");
+        assertThat(BookSearchSql.of(new BookRequest(null, null, "123")).explain())
+                .isEqualTo("EXPLAIN (FORMAT JSON) SELECT b.id FROM book b WHERE lower(b.isbn) LIKE :isbn ESCAPE '\\'");
+    }
+
+    @Test
+    @DisplayName("Deve combinar os campos preenchidos com AND e somar as relevâncias")
+    public void combinedFilterTest() {
+        BookSearchSql titleAndAuthor = BookSearchSql.of(new BookRequest("Aventuras", "Fulano", null));
+        BookSearchSql all = BookSearchSql.of(new BookRequest("Aventuras", "Fulano", "123"));
+
+        assertThat(titleAndAuthor.count()).isEqualTo("SELECT count(*) FROM book b"
+                + " WHERE lower(b.title) LIKE :title ESCAPE '\\' AND lower(b.author) LIKE :author ESCAPE '\\'");
+        assertThat(all.select(Sort.unsorted(), true)).isEqualTo(SELECT
+                + " WHERE lower(b.title) LIKE :title ESCAPE '\\' AND lower(b.author) LIKE :author ESCAPE '\\'"
+                + " AND lower(b.isbn) LIKE :isbn ESCAPE '\\'"
+                + " ORDER BY (word_similarity(:title_rank, lower(b.title)) + word_similarity(:author_rank, lower(b.author))"
+                + " + word_similarity(:isbn_rank, lower(b.isbn))) DESC, b.id DESC" + PAGE);
+        assertThat(all.select(Sort.by(Sort.Order.desc("author")), false)).isEqualTo(SELECT
+                + " WHERE lower(b.title) LIKE :title ESCAPE '\\' AND lower(b.author) LIKE :author ESCAPE '\\'"
+                + " AND lower(b.isbn) LIKE :isbn ESCAPE '\\'"
+                + " ORDER BY b.author DESC, b.id DESC" + PAGE);
+    }
+
+    @Test
+    @DisplayName("Deve escapar %, _ e \\ no LIKE e passar o termo original, em minúsculas, para a relevância")
+    public void escapeLikeTest() {
+        Map<String, Object> parameters = BookSearchSql.of(new BookRequest(" 100% Puro_Café\\ ", "FULANO", null)).parameters(true);
+
+        assertThat(parameters).containsExactly(
+                Map.entry("title", "%100\\% puro\\_café\\\\%"),
+                Map.entry("title_rank", "100% puro_café\\"),
+                Map.entry("author", "%fulano%"),
+                Map.entry("author_rank", "fulano"));
+        assertThat(BookSearchSql.of(new BookRequest("a_b", null, null)).parameters(false)).containsExactly(Map.entry("title", "%a\\_b%"));
+    }
+
+    @Test
+    @DisplayName("Deve ignorar colunas de ordenação fora da lista permitida")
+    public void sortWhitelistTest() {
+        BookSearchSql search = BookSearchSql.of(new BookRequest(null, null, null));
+
+        assertThat(search.select(Sort.by("version", "title; DROP TABLE book", "ISBN"), false))
+                .isEqualTo(SELECT + " ORDER BY b.isbn ASC, b.id DESC" + PAGE);
+        assertThat(search.select(Sort.by("b.title"), false)).isEqualTo(SELECT + " ORDER BY b.id DESC" + PAGE);
+    }
+}
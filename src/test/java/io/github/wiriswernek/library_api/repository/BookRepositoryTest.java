@@ -1,7 +1,14 @@
 package io.github.wiriswernek.library_api.repository;
 
+import io.github.wiriswernek.library_api.cache.BookQueryCache;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
 import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -9,9 +16,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Example;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 
@@ -19,6 +34,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 @ActiveProfiles("test")
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(BookQueryCache.class)
 public class BookRepositoryTest {
     @Autowired
     TestEntityManager entityManager;
@@ -26,70 +42,178 @@ public class BookRepositoryTest {
     @Autowired
     IBookRepository bookRepository;
 
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    @DisplayName("Deve Salvar um livro")
+    public void saveBookTest(){
+        BookEntity book = BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        BookEntity saved = bookRepository.save(book);
+        assertThat(saved.getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Deve Deletar um livro")
+    public void deleteBookTest(){
+        BookEntity book = BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        entityManager.persist(book);
+        Long id = book.getId();
+
+        bookRepository.deleteById(id);
+
+        BookEntity deleted = entityManager.find(BookEntity.class, id);
+        assertThat(deleted).isNull();
+    }
+
     @Test
-    @DisplayName("Deve retornar verdadeiro quando existir um livro na base de dados com o ISBN informado")
-    public void returnTrueWhenIsbnExists() {
-        String isbn = "123";
+    @DisplayName("Deve projetar a busca em DTOs sem carregar entidades no contexto de persistência")
+    public void findSliceProjectionTest() {
         entityManager.persist(BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build());
+        entityManager.flush();
+        entityManager.clear();
 
-        boolean exists = bookRepository.existsByIsbn(isbn);
+        Slice<BookDTO> books = bookRepository.findSlice(Example.of(BookEntity.builder().author("Fulano").build()), PageRequest.of(0, 10));
 
-        assertThat(exists).isTrue();
+        Session session = entityManager.getEntityManager().unwrap(Session.class);
+        assertThat(books.getContent()).extracting(BookDTO::getIsbn).containsExactly("123");
+        assertThat(books.getContent().get(0).getVersion()).isZero();
+        assertThat(session.getStatistics().getEntityCount()).isZero();
     }
 
     @Test
-    @DisplayName("Deve retornar falso quando não existir um livro na base de dados com o ISBN informado")
-    public void returnFalseWhenIsbnDoesntExists() {
-        String isbn = "123";
+    @DisplayName("Deve listar a página seguinte ao cursor em ordem decrescente de ID")
+    public void findByIdLessThanProjectionTest() {
+        BookEntity first = entityManager.persist(BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build());
+        BookEntity second = entityManager.persist(BookEntity.builder().isbn("456").title("As Aventuras de PI V2").author("Fulano").build());
+        BookEntity third = entityManager.persist(BookEntity.builder().isbn("789").title("As Aventuras de PI V3").author("Fulano").build());
+        entityManager.flush();
 
-        boolean exists = bookRepository.existsByIsbn(isbn);
+        List<BookDTO> books = bookRepository.findByIdLessThanOrderByIdDesc(third.getId(), PageRequest.ofSize(2));
 
-        assertThat(exists).isFalse();
+        assertThat(books).extracting(BookDTO::getId).containsExactly(second.getId(), first.getId());
     }
 
     @Test
-    @DisplayName("Deve retornar falso quando não existir um livro na base de dados com o mesmo ISBN informado")
-    public void returnTrueWhenIsbnAndIdNotExists() {
-        String isbn = "123";
-        BookEntity book = BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build();
-        entityManager.persist(book);
+    @DisplayName("Deve servir a busca repetida do cache de consultas e descartá-la após inserção via JDBC")
+    public void searchQueryCacheTest() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        Example<BookEntity> example = Example.of(BookEntity.builder().author("Cicrano").build());
+        bookRepository.insertAll(List.of(new BookRequest("As Aventuras de PI", "Cicrano", "123")));
+
+        bookRepository.findPage(example, PageRequest.of(0, 10));
+        entityManager.clear();
+        long hits = statistics.getQueryCacheHitCount();
+        Page<BookDTO> cached = bookRepository.findPage(example, PageRequest.of(0, 10));
 
-        boolean exists = bookRepository.existsByIsbnAndIdNot(isbn, book.getId());
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
+        assertThat(cached.getContent()).extracting(BookDTO::getIsbn).containsExactly("123");
 
-        assertThat(exists).isFalse();
+        bookRepository.insertAll(List.of(new BookRequest("As Aventuras de PI V2", "Cicrano", "456")));
+        Page<BookDTO> refreshed = bookRepository.findPage(example, PageRequest.of(0, 10));
+
+        assertThat(refreshed.getContent()).extracting(BookDTO::getIsbn).containsExactlyInAnyOrder("123", "456");
     }
 
     @Test
-    @DisplayName("Deve retornar true quando existir um livro na base de dados com o mesmo ISBN informado")
-    public void returnFalseWhenIsbnAndIdNotDoesntExists() {
-        String isbn = "123";
-        BookEntity book1 = BookEntity.builder().isbn(isbn).title("As Aventuras de PI").author("Fulano").build();
-        BookEntity book2 = BookEntity.builder().isbn("abcd").title("As Aventuras de PI").author("Fulano").build();
-        entityManager.persist(book1);
-        entityManager.persist(book2);
-        boolean exists = bookRepository.existsByIsbnAndIdNot(isbn, book2.getId());
-
-        assertThat(exists).isTrue();
+    @DisplayName("Não deve usar o cache de consultas nas contagens recalculadas pelos totais aproximados")
+    public void exactCountsBypassQueryCacheTest() {
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        BookRequest filter = new BookRequest(null, "Cicrano", null);
+        Example<BookEntity> example = Example.of(BookEntity.builder().author("Cicrano").build());
+        bookRepository.insertAll(List.of(new BookRequest("As Aventuras de PI", "Cicrano", "123")));
+
+        long puts = statistics.getQueryCachePutCount();
+        long hits = statistics.getQueryCacheHitCount();
+        for (int i = 0; i < 2; i++) {
+            assertThat(bookRepository.countMatching(filter)).isEqualTo(1L);
+            assertThat(bookRepository.count(example)).isEqualTo(1L);
+            assertThat(bookRepository.count()).isEqualTo(1L);
+        }
+
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(puts);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits);
+
+        bookRepository.countRanked(filter);
+        bookRepository.countRanked(filter);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(hits + 1);
     }
 
     @Test
-    @DisplayName("Deve Salvar um livro")
-    public void saveBookTest(){
-        BookEntity book = BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build();
-        BookEntity saved = bookRepository.save(book);
-        assertThat(saved.getId()).isNotNull();
+    @DisplayName("Deve tratar %, _ e \\ como literais na contagem da busca nativa")
+    public void countRankedEscapeLikeTest() {
+        bookRepository.insertAll(List.of(new BookRequest("100% Natural", "Fulano", "e1"), new BookRequest("100 Naturais", "Fulano", "e2"),
+                new BookRequest("Pasta_Nova", "Fulano", "e3"), new BookRequest("Pasta Nova", "Fulano", "e4"),
+                new BookRequest("C:\\Livros", "Fulano", "e5")));
+
+        assertThat(bookRepository.countRanked(new BookRequest("100%", null, null))).isEqualTo(1L);
+        assertThat(bookRepository.countRanked(new BookRequest("TA_N", null, null))).isEqualTo(1L);
+        assertThat(bookRepository.countRanked(new BookRequest(":\\l", null, null))).isEqualTo(1L);
+        assertThat(bookRepository.countRanked(new BookRequest("100", "fulano", null))).isEqualTo(2L);
     }
 
     @Test
-    @DisplayName("Deve Deletar um livro")
-    public void deleteBookTest(){
-        BookEntity book = BookEntity.builder().isbn("123").title("As Aventuras de PI").author("Fulano").build();
-        entityManager.persist(book);
-        Long id = book.getId();
+    @DisplayName("Deve listar inclusões do feed em ordem de posição a partir do token, só abaixo do limite de transação")
+    public void findChangesAfterTest() {
+        Long firstId = entityManager.persistAndGetId(BookEntity.builder().isbn("c1").title("As Aventuras de PI").author("Fulano").build(), Long.class);
+        Long secondId = entityManager.persistAndGetId(BookEntity.builder().isbn("c2").title("As Aventuras de PI V2").author("Fulano").build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        BookChange first = changesOf(firstId).get(0);
+        List<BookChange> changes = bookRepository.findChangesAfter(first.changeXid(), first.changeSeq() - 1, Long.MAX_VALUE, 10);
+
+        assertThat(changes).extracting(BookChange::id).containsExactly(firstId, secondId);
+        assertThat(changes).extracting(BookChange::deleted).containsExactly(false, false);
+        assertThat(changes.get(0).title()).isEqualTo("As Aventuras de PI");
+        assertThat(bookRepository.findChangesAfter(first.changeXid(), first.changeSeq(), Long.MAX_VALUE, 1))
+                .extracting(BookChange::id).containsExactly(secondId);
+        assertThat(bookRepository.findChangesAfter(first.changeXid(), first.changeSeq() - 1, changes.get(1).changeXid(), 10))
+                .extracting(BookChange::id).containsExactly(firstId);
+    }
 
-        bookRepository.deleteById(id);
+    @Test
+    @DisplayName("Deve mover para o fim do feed o livro alterado")
+    public void findChangesAfterUpdateTest() {
+        Long firstId = entityManager.persistAndGetId(BookEntity.builder().isbn("u1").title("As Aventuras de PI").author("Fulano").build(), Long.class);
+        Long secondId = entityManager.persistAndGetId(BookEntity.builder().isbn("u2").title("As Aventuras de PI V2").author("Fulano").build(), Long.class);
+        entityManager.flush();
+        BookChange inserted = changesOf(firstId).get(0);
+
+        bookRepository.updateBook(firstId, "As Aventuras de PI V3", "Fulano", "u1");
+        List<BookChange> changes = changesOf(firstId, secondId);
+
+        assertThat(changes).extracting(BookChange::id).containsExactly(secondId, firstId);
+        assertThat(changes.get(1).title()).isEqualTo("As Aventuras de PI V3");
+        assertThat(changes.get(1).changeSeq()).isGreaterThan(inserted.changeSeq());
+    }
 
-        BookEntity deleted = entityManager.find(BookEntity.class, id);
-        assertThat(deleted).isNull();
+    @Test
+    @DisplayName("Deve registrar a lápide do livro excluído no feed")
+    public void findChangesAfterDeleteTest() {
+        Long firstId = entityManager.persistAndGetId(BookEntity.builder().isbn("d1").title("As Aventuras de PI").author("Fulano").build(), Long.class);
+        Long secondId = entityManager.persistAndGetId(BookEntity.builder().isbn("d2").title("As Aventuras de PI V2").author("Fulano").build(), Long.class);
+        entityManager.flush();
+        entityManager.clear();
+
+        bookRepository.deleteBookById(firstId);
+        List<BookChange> changes = changesOf(firstId, secondId);
+
+        assertThat(changes).extracting(BookChange::id).containsExactly(secondId, firstId);
+        assertThat(changes).extracting(BookChange::deleted).containsExactly(false, true);
+        assertThat(changes.get(1).title()).isNull();
+    }
+
+    /**
+     * Feed inteiro restrito aos livros do teste, para não depender do que outros testes deixaram no banco.
+     */
+    private List<BookChange> changesOf(Long... ids) {
+        List<Long> bookIds = List.of(ids);
+        return bookRepository.findChangesAfter(0, 0, Long.MAX_VALUE, 1000).stream()
+                .filter(change -> bookIds.contains(change.id()))
+                .toList();
     }
 }
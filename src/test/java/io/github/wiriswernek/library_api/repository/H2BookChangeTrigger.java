@@ -0,0 +1,72 @@
+package io.github.wiriswernek.library_api.repository;
+
+import org.h2.api.Trigger;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Versão H2 das triggers track_book_change e track_book_delete, criada pela migração V9 de db/migration/h2
+ * dos testes. O H2 não expõe um ID de transação comparável ao xid do PostgreSQL, então change_xid recebe a
+ * própria posição: o feed fica na ordem de change_seq, como se cada escrita fosse uma transação.
+ */
+public class H2BookChangeTrigger implements Trigger {
+
+    private boolean delete;
+
+    private int idIndex;
+
+    private int changeSeqIndex;
+
+    private int changeXidIndex;
+
+    private int changedAtIndex;
+
+    @Override
+    public void init(Connection conn, String schemaName, String triggerName, String tableName, boolean before, int type) throws SQLException {
+        delete = type == DELETE;
+        List<String> columns = new ArrayList<>();
+        try (ResultSet rs = conn.getMetaData().getColumns(null, schemaName, tableName, null)) {
+            while (rs.next()) {
+                columns.add(rs.getString("COLUMN_NAME").toLowerCase(Locale.ROOT));
+            }
+        }
+        idIndex = columns.indexOf("id");
+        changeSeqIndex = columns.indexOf("change_seq");
+        changeXidIndex = columns.indexOf("change_xid");
+        changedAtIndex = columns.indexOf("changed_at");
+    }
+
+    @Override
+    public void fire(Connection conn, Object[] oldRow, Object[] newRow) throws SQLException {
+        long changeSeq;
+        OffsetDateTime now;
+        try (PreparedStatement statement = conn.prepareStatement("SELECT NEXT VALUE FOR book_change_seq, CURRENT_TIMESTAMP");
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            changeSeq = rs.getLong(1);
+            now = rs.getObject(2, OffsetDateTime.class);
+        }
+
+        if (!delete) {
+            newRow[changeSeqIndex] = changeSeq;
+            newRow[changeXidIndex] = changeSeq;
+            newRow[changedAtIndex] = now;
+            return;
+        }
+        try (PreparedStatement statement = conn.prepareStatement(
+                "MERGE INTO book_tombstone (id, change_xid, change_seq, deleted_at) KEY (id) VALUES (?, ?, ?, ?)")) {
+            statement.setObject(1, oldRow[idIndex]);
+            statement.setLong(2, changeSeq);
+            statement.setLong(3, changeSeq);
+            statement.setObject(4, now);
+            statement.executeUpdate();
+        }
+    }
+}
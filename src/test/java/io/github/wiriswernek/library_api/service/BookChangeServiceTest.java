@@ -0,0 +1,104 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.config.BookChangeProperties;
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.record.BookChange;
+import io.github.wiriswernek.library_api.model.record.BookChangePage;
+import io.github.wiriswernek.library_api.model.record.BookChangeToken;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.imp.BookChangeServiceImp;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookChangeServiceTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2026, 1, 31, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final long XMIN = 900L;
+
+    private IBookRepository bookRepository;
+
+    private BookChangeService bookChangeService;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository = Mockito.mock(IBookRepository.class);
+        Mockito.when(bookRepository.currentTimestamp()).thenReturn(NOW);
+        Mockito.when(bookRepository.currentXmin()).thenReturn(XMIN);
+        bookChangeService = new BookChangeServiceImp(bookRepository,
+                new BookChangeProperties(Duration.ofDays(30), Duration.ofHours(1), 1000));
+    }
+
+    private static BookChange change(long id, long changeXid, long changeSeq) {
+        return new BookChange(id, "Livro " + id, "Autor", String.valueOf(id), 0L, false, changeXid, changeSeq, NOW.minusMinutes(1).toInstant());
+    }
+
+    @Test
+    @DisplayName("Deve começar do início do feed e só entregar escritas de transações abaixo do xmin")
+    public void firstSyncTest() {
+        Mockito.when(bookRepository.findChangesAfter(0, 0, XMIN, 3)).thenReturn(List.of(change(1, 800, 1), change(2, 810, 5)));
+
+        BookChangePage page = bookChangeService.findChanges(null, 2);
+
+        assertThat(page.changes()).extracting(BookChange::id).containsExactly(1L, 2L);
+        assertThat(page.hasMore()).isFalse();
+        assertThat(page.next()).isEqualTo(new BookChangeToken(810, 5, NOW.toInstant()));
+    }
+
+    @Test
+    @DisplayName("Deve manter o instante do token enquanto houver mais alterações e renová-lo ao chegar ao fim")
+    public void pagingKeepsSyncedAtTest() {
+        Instant behindSince = NOW.minusDays(2).toInstant();
+        Mockito.when(bookRepository.findChangesAfter(810, 5, XMIN, 2)).thenReturn(List.of(change(3, 820, 6), change(4, 820, 7)));
+        Mockito.when(bookRepository.findChangesAfter(820, 6, XMIN, 2)).thenReturn(List.of(change(4, 820, 7)));
+
+        BookChangePage first = bookChangeService.findChanges(new BookChangeToken(810, 5, behindSince), 1);
+        BookChangePage last = bookChangeService.findChanges(first.next(), 1);
+
+        assertThat(first.hasMore()).isTrue();
+        assertThat(first.next()).isEqualTo(new BookChangeToken(820, 6, behindSince));
+        assertThat(last.hasMore()).isFalse();
+        assertThat(last.next()).isEqualTo(new BookChangeToken(820, 7, NOW.toInstant()));
+    }
+
+    @Test
+    @DisplayName("Deve devolver a mesma posição com o instante renovado quando não houver alterações")
+    public void noChangesTest() {
+        Mockito.when(bookRepository.findChangesAfter(820, 7, XMIN, 101)).thenReturn(List.of());
+
+        BookChangePage page = bookChangeService.findChanges(new BookChangeToken(820, 7, NOW.minusHours(1).toInstant()), 100);
+
+        assertThat(page.changes()).isEmpty();
+        assertThat(page.next()).isEqualTo(new BookChangeToken(820, 7, NOW.toInstant()));
+    }
+
+    @Test
+    @DisplayName("Deve exigir nova sincronização quando o token for mais antigo que a retenção das lápides")
+    public void expiredTokenTest() {
+        Throwable throwable = Assertions.catchThrowable(() ->
+                bookChangeService.findChanges(new BookChangeToken(820, 7, NOW.minusDays(31).toInstant()), 100));
+
+        assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.TOKEN_DE_SINCRONIZACAO_EXPIRADO.toString());
+        Mockito.verify(bookRepository, Mockito.never()).findChangesAfter(Mockito.anyLong(), Mockito.anyLong(), Mockito.anyLong(), Mockito.anyInt());
+    }
+
+    @Test
+    @DisplayName("Deve expurgar as lápides mais antigas que a retenção")
+    public void purgeTombstonesTest() {
+        bookChangeService.purgeTombstones();
+
+        Mockito.verify(bookRepository).deleteTombstonesBefore(NOW.minusDays(30));
+    }
+}
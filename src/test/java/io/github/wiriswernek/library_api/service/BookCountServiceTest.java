@@ -0,0 +1,88 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.config.CountProperties;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.imp.BookCountServiceImp;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BookCountServiceTest {
+
+    IBookRepository bookRepository;
+
+    BookSearchEngine bookSearchEngine;
+
+    BookCountServiceImp bookCountService;
+
+    @BeforeEach
+    void setUp() {
+        bookRepository = Mockito.mock(IBookRepository.class);
+        bookSearchEngine = Mockito.mock(BookSearchEngine.class);
+        bookCountService = new BookCountServiceImp(bookRepository, bookSearchEngine, new CountProperties(Duration.ofMinutes(1), Duration.ofMinutes(10), 1000, 2));
+    }
+
+    @Test
+    @DisplayName("Deve responder a primeira leitura de um filtro com a estimativa do planejador, sem contagem exata")
+    public void estimateFirstReadTest() {
+        BookRequest filter = new BookRequest("Aventuras", null, null);
+        Mockito.when(bookRepository.estimateCount(filter)).thenReturn(40L);
+        AtomicInteger exactCounts = new AtomicInteger();
+        Mockito.when(bookSearchEngine.count(Mockito.any(BookRequest.class))).thenAnswer(invocation -> exactCounts.incrementAndGet() * 100L);
+
+        long count = bookCountService.approximateCount(filter);
+
+        assertThat(count).isEqualTo(40L);
+        assertThat(exactCounts).hasValue(0);
+
+        bookCountService.refresh();
+
+        assertThat(bookCountService.approximateCount(new BookRequest("AVENTURAS", null, null))).isEqualTo(100L);
+        Mockito.verify(bookSearchEngine).count(filter);
+        assertThat(exactCounts).hasValue(1);
+        Mockito.verify(bookRepository, Mockito.times(1)).estimateCount(Mockito.any(BookRequest.class));
+    }
+
+    @Test
+    @DisplayName("Deve usar a contagem exata quando o banco não oferece estimativa")
+    public void exactCountWithoutEstimateTest() {
+        BookRequest filter = new BookRequest(null, "Fulano", null);
+        Mockito.when(bookRepository.estimateCount(filter)).thenReturn(null);
+        Mockito.when(bookSearchEngine.count(filter)).thenReturn(7L);
+
+        assertThat(bookCountService.approximateCount(filter)).isEqualTo(7L);
+    }
+
+    @Test
+    @DisplayName("Deve recalcular só os filtros lidos desde a última rodada, dentro do limite por rodada")
+    public void refreshOnlyReadFiltersTest() {
+        AtomicInteger[] exactCounts = {new AtomicInteger(), new AtomicInteger(), new AtomicInteger()};
+        BookRequest[] filters = {new BookRequest("a", null, null), new BookRequest("b", null, null), new BookRequest("c", null, null)};
+        for (int i = 0; i < filters.length; i++) {
+            AtomicInteger counter = exactCounts[i];
+            Mockito.when(bookRepository.estimateCount(filters[i])).thenReturn(1L);
+            Mockito.when(bookSearchEngine.count(filters[i])).thenAnswer(invocation -> (long) counter.incrementAndGet());
+            bookCountService.approximateCount(filters[i]);
+        }
+
+        bookCountService.refresh();
+        assertThat(exactCounts).extracting(AtomicInteger::get).containsExactlyInAnyOrder(1, 1, 0);
+
+        bookCountService.refresh();
+        assertThat(exactCounts).extracting(AtomicInteger::get).containsExactly(1, 1, 1);
+
+        bookCountService.approximateCount(filters[0]);
+        bookCountService.refresh();
+        assertThat(exactCounts).extracting(AtomicInteger::get).containsExactly(2, 1, 1);
+
+        bookCountService.refresh();
+        assertThat(exactCounts).extracting(AtomicInteger::get).containsExactly(2, 1, 1);
+    }
+}
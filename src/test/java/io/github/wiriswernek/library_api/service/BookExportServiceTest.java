@@ -0,0 +1,96 @@
+package io.github.wiriswernek.library_api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.utils.BookImportReader;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = "library.export.fetch-size=1")
+@ActiveProfiles("test")
+public class BookExportServiceTest {
+
+    @Autowired
+    BookExportService bookExportService;
+
+    @Autowired
+    IBookRepository bookRepository;
+
+    BookEntity first;
+
+    BookEntity second;
+
+    @BeforeEach
+    void setUp() {
+        first = bookRepository.save(BookEntity.builder().isbn("exportado-1").title("As Aventuras de PI").author("Fulano").build());
+        second = bookRepository.save(BookEntity.builder().isbn("exportado-2").title("Vírgula, no título").author("Beltrano").build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve exportar todos os livros em NDJSON, um por linha")
+    public void exportNdjsonTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookExportService.export(BookFormatEnum.NDJSON, output);
+
+        String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":" + first.getId(), "\"isbn\":\"exportado-1\"");
+        assertThat(lines[1]).contains("\"id\":" + second.getId(), "\"isbn\":\"exportado-2\"");
+        assertThat(lines[0]).doesNotContain("version");
+    }
+
+    @Test
+    @DisplayName("Deve exportar todos os livros em CSV com cabeçalho")
+    public void exportCsvTest() throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookExportService.export(BookFormatEnum.CSV, output);
+
+        assertThat(output.toString(StandardCharsets.UTF_8)).isEqualTo("""
+                id,title,author,isbn
+                %d,As Aventuras de PI,Fulano,exportado-1
+                %d,"Vírgula, no título",Beltrano,exportado-2
+                """.formatted(first.getId(), second.getId()));
+    }
+
+    @Test
+    @DisplayName("Deve importar de volta o CSV exportado, inclusive com quebras de linha nos campos")
+    public void exportCsvRoundTripTest() throws Exception {
+        bookRepository.save(BookEntity.builder().isbn("exportado-3").title("Primeira linha\nSegunda linha").author("Fulano\r\nde Tal").build());
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        bookExportService.export(BookFormatEnum.CSV, output);
+
+        List<BookImportReader.Row> rows = new ArrayList<>();
+        try (BookImportReader reader = BookImportReader.open(BookFormatEnum.CSV, new ByteArrayInputStream(output.toByteArray()), new ObjectMapper())) {
+            reader.forEachRemaining(rows::add);
+        }
+        assertThat(rows).extracting(BookImportReader.Row::error).containsOnlyNulls();
+        assertThat(rows).extracting(BookImportReader.Row::book).containsExactly(
+                new BookRequest("As Aventuras de PI", "Fulano", "exportado-1"),
+                new BookRequest("Vírgula, no título", "Beltrano", "exportado-2"),
+                new BookRequest("Primeira linha\nSegunda linha", "Fulano\r\nde Tal", "exportado-3"));
+    }
+}
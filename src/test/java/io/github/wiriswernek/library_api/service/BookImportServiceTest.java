@@ -0,0 +1,113 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.metrics.BookMetrics;
+import io.github.wiriswernek.library_api.model.dto.BookImportErrorDTO;
+import io.github.wiriswernek.library_api.model.dto.BookImportResultDTO;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.BookFormatEnum;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+@SpringBootTest(properties = "library.bulk.batch-size=2")
+@ActiveProfiles("test")
+public class BookImportServiceTest {
+
+    @Autowired
+    BookImportService bookImportService;
+
+    @Autowired
+    IBookRepository bookRepository;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Deve importar um CSV em lotes relatando as linhas rejeitadas")
+    public void importCsvTest() throws Exception {
+        bookRepository.save(BookEntity.builder().isbn("importado-1").title("Já cadastrado").author("Fulano").build());
+        String csv = """
+                title,author,isbn
+                "As Aventuras de PI, volume 1",Fulano,importado-2
+                ,Fulano,importado-3
+                Repetido no arquivo,Fulano,importado-2
+                Já cadastrado,Fulano,importado-1
+                Outro Livro,"Autor ""Citado""\",importado-4
+                """;
+        double duplicatesBefore = importDuplicates();
+
+        BookImportResultDTO result = bookImportService.importBooks(BookFormatEnum.CSV, new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getReceived()).isEqualTo(5);
+        assertThat(result.getImported()).isEqualTo(2);
+        assertThat(result.getRejected()).isEqualTo(3);
+        assertThat(result.getErrors()).extracting(BookImportErrorDTO::getRow).containsExactlyInAnyOrder(2L, 3L, 4L);
+        assertThat(result.getErrors()).filteredOn(error -> error.getRow() == 3L)
+                .allSatisfy(error -> assertThat(error.getErrors()).containsExactly(ErrosEnum.ISBN_DUPLICADO.toString()));
+        assertThat(bookRepository.findAll()).extracting(BookEntity::getTitle)
+                .contains("As Aventuras de PI, volume 1", "Outro Livro");
+        assertThat(bookRepository.findAll()).extracting(BookEntity::getAuthor).contains("Autor \"Citado\"");
+        assertThat(importDuplicates() - duplicatesBefore).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Deve rejeitar com erro 400 um corpo de importação malformado")
+    public void importMalformedBodyTest() {
+        String semColunas = "titulo,autor\nLivro,Fulano\n";
+        String aspasAbertas = "\"title,author,isbn\nLivro,Fulano,importado-20\n";
+        String json = "}";
+
+        for (var body : List.of(semColunas, aspasAbertas)) {
+            Throwable throwable = catchThrowable(() -> bookImportService.importBooks(BookFormatEnum.CSV, new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))));
+            assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.IMPORTACAO_MALFORMADA.toString());
+        }
+        Throwable throwable = catchThrowable(() -> bookImportService.importBooks(BookFormatEnum.JSON, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+
+        assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.IMPORTACAO_MALFORMADA.toString());
+        assertThat(ErrosEnum.IMPORTACAO_MALFORMADA.getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(bookRepository.count()).isZero();
+    }
+
+    @Test
+    @DisplayName("Deve importar livros enviados em NDJSON")
+    public void importNdjsonTest() throws Exception {
+        String ndjson = """
+                {"title":"Primeiro","author":"Fulano","isbn":"importado-10"}
+                {"title":"Segundo","author":"Fulano","isbn":"importado-11"}
+                {"title":"Terceiro","author":"Fulano","isbn":"importado-12"}
+                """;
+
+        BookImportResultDTO result = bookImportService.importBooks(BookFormatEnum.NDJSON, new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.getImported()).isEqualTo(3);
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(bookRepository.findExistingIsbns(List.of("importado-12"))).containsExactly("importado-12");
+    }
+
+    private double importDuplicates() {
+        return meterRegistry.get(BookMetrics.ERRORS)
+                .tag("erro", ErrosEnum.ISBN_DUPLICADO.name())
+                .tag("origem", "bulk")
+                .counter().count();
+    }
+}
@@ -0,0 +1,103 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class BookServiceConcurrencyTest {
+
+    static final String ISBN = "concorrencia-978";
+
+    static final int THREADS = 16;
+
+    @Autowired
+    BookService bookService;
+
+    @Autowired
+    IBookRepository bookRepository;
+
+    @AfterEach
+    void tearDown() {
+        bookRepository.findAll().stream()
+                .filter(book -> book.getIsbn().startsWith("concorrencia-"))
+                .forEach(book -> bookRepository.deleteById(book.getId()));
+    }
+
+    @Test
+    @DisplayName("Não deve cadastrar ISBN repetido quando vários cadastros chegam ao mesmo tempo")
+    public void concurrentSaveSameIsbnTest() throws Exception {
+        List<Object> results = runConcurrently(i -> bookService.save(new BookRequest("Livro " + i, "Autor", ISBN)));
+
+        assertThat(results).filteredOn(BookEntity.class::isInstance).hasSize(1);
+        assertThat(results).filteredOn(BusinessExcetion.class::isInstance).hasSize(THREADS - 1)
+                .allSatisfy(error -> assertThat((Throwable) error).hasMessage(ErrosEnum.ISBN_DUPLICADO.toString()));
+        assertThat(bookRepository.findAll()).filteredOn(book -> ISBN.equals(book.getIsbn())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Não deve permitir que atualizações simultâneas levem livros diferentes ao mesmo ISBN")
+    public void concurrentUpdateSameIsbnTest() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            ids.add(bookService.save(new BookRequest("Livro " + i, "Autor", "concorrencia-" + i)).getId());
+        }
+
+        List<Object> results = runConcurrently(i -> bookService.update(ids.get(i), new BookRequest("Livro " + i, "Autor", ISBN)));
+
+        assertThat(results).filteredOn(BookEntity.class::isInstance).hasSize(1);
+        assertThat(results).filteredOn(BusinessExcetion.class::isInstance).hasSize(THREADS - 1);
+        assertThat(bookRepository.findAll()).filteredOn(book -> ISBN.equals(book.getIsbn())).hasSize(1);
+    }
+
+    private List<Object> runConcurrently(Task task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return task.run(index);
+                    } catch (BusinessExcetion e) {
+                        return e;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    interface Task {
+        Object run(int index) throws Exception;
+    }
+}
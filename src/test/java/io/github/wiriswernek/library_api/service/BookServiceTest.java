@@ -1,26 +1,46 @@
 package io.github.wiriswernek.library_api.service;
 
+import io.github.wiriswernek.library_api.cache.BookCache;
+import io.github.wiriswernek.library_api.cache.BookSuggestIndex;
+import io.github.wiriswernek.library_api.cache.IsbnFilter;
+import io.github.wiriswernek.library_api.config.BookCacheProperties;
+import io.github.wiriswernek.library_api.config.IsbnFilterProperties;
 import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
 import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
 import io.github.wiriswernek.library_api.model.entity.BookEntity;
+import io.github.wiriswernek.library_api.model.enums.CountModeEnum;
+import io.github.wiriswernek.library_api.model.mapper.BookMapper;
+import io.github.wiriswernek.library_api.model.record.BookBatch;
 import io.github.wiriswernek.library_api.model.record.BookRequest;
 import io.github.wiriswernek.library_api.model.repository.IBookRepository;
 import io.github.wiriswernek.library_api.service.imp.BookServiceImp;
+import io.github.wiriswernek.library_api.service.imp.ExampleBookSearchEngine;
 import org.assertj.core.api.Assertions;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mockito;
-import org.modelmapper.ModelMapper;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.*;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -32,9 +52,24 @@ public class BookServiceTest {
     @MockBean
     IBookRepository iBookRepository;
 
+    @MockBean
+    BookCountService bookCountService;
+
+    @MockBean
+    BookSuggestIndex bookSuggestIndex;
+
+    static DataIntegrityViolationException isbnViolation() {
+        return new DataIntegrityViolationException("duplicate key",
+                new ConstraintViolationException("duplicate key", new SQLException("duplicate key"), IBookRepository.ISBN_UNIQUE_INDEX));
+    }
+
     @BeforeEach
     void setUp() {
-        bookService = new BookServiceImp(iBookRepository, new ModelMapper());
+        BookMapper bookMapper = new BookMapper();
+        BookCache bookCache = new BookCache(new BookCacheProperties(true, 100, Duration.ofMinutes(10), true, Duration.ofSeconds(30)));
+        IsbnFilter isbnFilter = new IsbnFilter(iBookRepository, new IsbnFilterProperties(true, 1000, 0.01, Duration.ofHours(6), 1000));
+        bookService = new BookServiceImp(iBookRepository, bookMapper, bookCountService, new ExampleBookSearchEngine(iBookRepository, bookMapper),
+                bookCache, isbnFilter, bookSuggestIndex);
     }
 
     @Test
@@ -42,7 +77,7 @@ public class BookServiceTest {
     public void saveBookTest() throws Exception {
         //cenario
         BookRequest book = new BookRequest("As Aventuras de PI", "Fulano", "123");
-        Mockito.when(iBookRepository.save(Mockito.any(BookEntity.class))).thenReturn(BookEntity.builder().id((Long) 1L).isbn(book.isbn()).title(book.title()).author(book.author()).build());
+        Mockito.when(iBookRepository.saveAndFlush(Mockito.any(BookEntity.class))).thenReturn(BookEntity.builder().id((Long) 1L).isbn(book.isbn()).title(book.title()).author(book.author()).build());
 
         // execucao
         BookEntity bookSaved = bookService.save(book);
@@ -59,15 +94,14 @@ public class BookServiceTest {
     public void creatBookDuplicatedISBN() throws Exception {
         //cenario
         BookRequest book = new BookRequest("As Aventuras de PI", "Fulano", "123");
-        Mockito.when(iBookRepository.existsByIsbn(book.isbn())).thenReturn(Boolean.TRUE);
+        Mockito.when(iBookRepository.saveAndFlush(Mockito.any(BookEntity.class))).thenThrow(isbnViolation());
 
         // execucao
         Throwable throwable = Assertions.catchThrowable(() -> bookService.save(book));
 
         //verificacao
         assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.ISBN_DUPLICADO.toString());
-        Mockito.verify(iBookRepository, Mockito.times(1)).existsByIsbn(book.isbn());
-        Mockito.verify(iBookRepository, Mockito.never()).save(Mockito.any(BookEntity.class));
+        Mockito.verify(iBookRepository, Mockito.times(1)).saveAndFlush(Mockito.any(BookEntity.class));
 
     }
 
@@ -106,28 +140,28 @@ public class BookServiceTest {
     @DisplayName("Deve deletar um livro")
     public void deleteBookTest() throws Exception {
         Long id = (Long) 1L;
-        BookEntity book = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
-        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.of(book));
+        Mockito.when(iBookRepository.deleteBookById(id)).thenReturn(1);
 
         Boolean result = bookService.delete(id);
 
         assertThat(result).isTrue();
-        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
-        Mockito.verify(iBookRepository, Mockito.times(1)).deleteById(id);
+        Mockito.verify(iBookRepository, Mockito.never()).findById(id);
+        Mockito.verify(iBookRepository, Mockito.times(1)).deleteBookById(id);
+        Mockito.verify(bookSuggestIndex).remove(id);
     }
 
     @Test
     @DisplayName("Deve lançar erro ao não encontrar um livro para excluir")
     public void deleteInexistentBookTest() throws Exception {
         Long id = (Long) 1L;
-        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.empty());
+        Mockito.when(iBookRepository.deleteBookById(id)).thenReturn(0);
 
         // execucao
         Throwable throwable = Assertions.catchThrowable(() -> bookService.delete(id));
 
         //verificacao
         assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
-        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
+        Mockito.verify(iBookRepository, Mockito.times(1)).deleteBookById(id);
         Mockito.verify(iBookRepository, Mockito.never()).deleteById(id);
 
     }
@@ -136,13 +170,10 @@ public class BookServiceTest {
     @DisplayName("Deve atualizar um livro com sucesso")
     public void updateBookTest() throws Exception {
         Long id = (Long) 1L;
-        BookEntity bookEntity = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
         BookRequest bookRequest = new BookRequest("As Aventuras de PI V2", "Fulano 2", "123");
 
         BookEntity book = BookEntity.builder().id(id).isbn(bookRequest.isbn()).title(bookRequest.title()).author(bookRequest.author()).build();
-        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.of(bookEntity));
-        Mockito.when(iBookRepository.existsByIsbnAndIdNot("123", id)).thenReturn(Boolean.FALSE);
-        Mockito.when(iBookRepository.save(Mockito.any(BookEntity.class))).thenReturn(book);
+        Mockito.when(iBookRepository.updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn())).thenReturn(1);
 
         BookEntity result = bookService.update(id, bookRequest);
 
@@ -151,9 +182,8 @@ public class BookServiceTest {
         assertThat(result.getTitle()).isEqualTo(book.getTitle());
         assertThat(result.getIsbn()).isEqualTo(book.getIsbn());
 
-        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
-        Mockito.verify(iBookRepository, Mockito.times(1)).existsByIsbnAndIdNot("123", id);
-        Mockito.verify(iBookRepository, Mockito.times(1)).save(Mockito.any(BookEntity.class));
+        Mockito.verify(iBookRepository, Mockito.times(1)).updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn());
+        Mockito.verify(iBookRepository, Mockito.never()).findById(id);
 
     }
 
@@ -161,16 +191,15 @@ public class BookServiceTest {
     @DisplayName("Deve lançar erro ao não encontrar um livro para atualizar")
     public void updateInexistentBookTest() throws Exception {
         Long id = (Long) 1L;
-        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.empty());
         BookRequest bookRequest = new BookRequest("As Aventuras de PI", "Fulano", "123");
+        Mockito.when(iBookRepository.updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn())).thenReturn(0);
 
         // execucao
         Throwable throwable = Assertions.catchThrowable(() -> bookService.update(id, bookRequest));
 
         //verificacao
         assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
-        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
-        Mockito.verify(iBookRepository, Mockito.never()).existsByIsbnAndIdNot("123", id);
+        Mockito.verify(iBookRepository, Mockito.times(1)).updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn());
         Mockito.verify(iBookRepository, Mockito.never()).save(Mockito.any(BookEntity.class));
 
     }
@@ -179,16 +208,13 @@ public class BookServiceTest {
     @DisplayName("Não deve atualizar um livro com ISBN usado por outro livro")
     public void updateBookDuplicatedISBN() throws Exception {
         Long id = (Long) 1L;
-        BookEntity bookEntity = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
         BookRequest bookRequest = new BookRequest("As Aventuras de PI", "Fulano", "123");
-        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.of(bookEntity));
-        Mockito.when(iBookRepository.existsByIsbnAndIdNot("123", id)).thenReturn(Boolean.TRUE);
+        Mockito.when(iBookRepository.updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn())).thenThrow(isbnViolation());
 
         Throwable throwable = Assertions.catchThrowable(() -> bookService.update(id, bookRequest));
 
         assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.ISBN_DUPLICADO.toString());
-        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
-        Mockito.verify(iBookRepository, Mockito.times(1)).existsByIsbnAndIdNot("123", id);
+        Mockito.verify(iBookRepository, Mockito.times(1)).updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn());
         Mockito.verify(iBookRepository, Mockito.never()).save(Mockito.any(BookEntity.class));
     }
 
@@ -196,15 +222,15 @@ public class BookServiceTest {
     @DisplayName("Deve filtrar livros")
     public void searchBooksTest() throws Exception {
         Long id = (Long) 1L;
-        List<BookEntity> listBook = Arrays.asList(BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build());
+        List<BookDTO> listBook = Arrays.asList(new BookDTO(id, "As Aventuras de PI", "Fulano", "123"));
 
         PageRequest pageRequest = PageRequest.of(0, 10);
         BookRequest filter = new BookRequest("As Aventuras de PI", "Fulano", "123");
 
-        Page<BookEntity> page = new PageImpl(listBook, PageRequest.of(0, 10), 1);
+        Page<BookDTO> page = new PageImpl<>(listBook, PageRequest.of(0, 10), 1);
 
-        Mockito.when(iBookRepository.findAll(Mockito.any(Example.class), Mockito.any(PageRequest.class))).thenReturn(page);
-        Page<BookEntity> books = bookService.search(filter, pageRequest );
+        Mockito.when(iBookRepository.findPage(Mockito.any(Example.class), Mockito.any(PageRequest.class))).thenReturn(page);
+        Page<BookDTO> books = bookService.search(filter, pageRequest );
 
         assertThat(books.getTotalElements()).isEqualTo(1);
         assertThat(books.getContent()).isEqualTo(listBook);
@@ -217,15 +243,15 @@ public class BookServiceTest {
     @DisplayName("Deve buscar todos os livros")
     public void getAllBooksTest() throws Exception {
         Long id = (Long) 1L;
-        List<BookEntity> listBook = Arrays.asList(BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build());
+        List<BookDTO> listBook = Arrays.asList(new BookDTO(id, "As Aventuras de PI", "Fulano", "123"));
 
         PageRequest pageRequest = PageRequest.of(0, 10);
         BookRequest filter = new BookRequest("As Aventuras de PI", "Fulano", "123");
 
-        Page<BookEntity> page = new PageImpl(listBook, PageRequest.of(0, 10), 1);
+        Page<BookDTO> page = new PageImpl<>(listBook, PageRequest.of(0, 10), 1);
 
-        Mockito.when(iBookRepository.findAll(Mockito.any(PageRequest.class))).thenReturn(page);
-        Page<BookEntity> books = bookService.findAll( pageRequest );
+        Mockito.when(iBookRepository.findPageBy(Mockito.any(PageRequest.class))).thenReturn(page);
+        Page<BookDTO> books = bookService.findAll( pageRequest );
 
         assertThat(books.getTotalElements()).isEqualTo(1);
         assertThat(books.getContent()).isEqualTo(listBook);
@@ -234,4 +260,287 @@ public class BookServiceTest {
 
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Deve buscar a página seguinte ao cursor indicando se há próxima página")
+    public void findAllAfterTest() throws Exception {
+        List<BookDTO> listBook = Arrays.asList(
+                new BookDTO((Long) 9L, "As Aventuras de PI", "Fulano", "123"),
+                new BookDTO((Long) 8L, "As Aventuras de PI V2", "Fulano", "456"));
+
+        Mockito.when(iBookRepository.findByIdLessThanOrderByIdDesc(Mockito.eq(10L), Mockito.any(Pageable.class))).thenReturn(listBook);
+        Slice<BookDTO> books = bookService.findAllAfter(10L, 1);
+
+        assertThat(books.getContent()).containsExactly(listBook.get(0));
+        assertThat(books.hasNext()).isTrue();
+        Mockito.verify(iBookRepository, Mockito.never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve buscar livros sem executar a contagem do total")
+    public void getAllBooksWithoutCountTest() throws Exception {
+        List<BookDTO> listBook = Arrays.asList(new BookDTO((Long) 1L, "As Aventuras de PI", "Fulano", "123"));
+        PageRequest pageRequest = PageRequest.of(0, 10);
+
+        Mockito.when(iBookRepository.findAllBy(pageRequest)).thenReturn(new SliceImpl<>(listBook, pageRequest, false));
+        Slice<BookDTO> books = bookService.findAll(pageRequest, CountModeEnum.NONE);
+
+        assertThat(books).isNotInstanceOf(Page.class);
+        assertThat(books.getContent()).isEqualTo(listBook);
+        Mockito.verify(iBookRepository, Mockito.never()).findPageBy(Mockito.any(Pageable.class));
+        Mockito.verify(iBookRepository, Mockito.never()).count();
+    }
+
+    @Test
+    @DisplayName("Deve filtrar livros usando o total aproximado")
+    public void searchBooksApproximateCountTest() throws Exception {
+        List<BookDTO> listBook = Arrays.asList(new BookDTO((Long) 1L, "As Aventuras de PI", "Fulano", "123"));
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        BookRequest filter = new BookRequest("As Aventuras de PI", "Fulano", "123");
+
+        Mockito.when(iBookRepository.findSlice(Mockito.any(Example.class), Mockito.eq(pageRequest))).thenReturn(new SliceImpl<>(listBook, pageRequest, false));
+        Mockito.when(bookCountService.approximateCount(filter)).thenReturn(42L);
+        Slice<BookDTO> books = bookService.search(filter, pageRequest, CountModeEnum.APPROXIMATE);
+
+        assertThat(books).isInstanceOf(Page.class);
+        assertThat(((Page<BookDTO>) books).getTotalElements()).isEqualTo(42);
+        Mockito.verify(iBookRepository, Mockito.never()).count(Mockito.any(Example.class));
+    }
+
+    @Test
+    @DisplayName("Deve buscar o livro no banco apenas uma vez enquanto estiver em cache")
+    public void getBookDetailsFromCacheTest() throws Exception {
+        Long id = (Long) 1L;
+        BookEntity book = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.of(book));
+
+        bookService.findById(id);
+        BookEntity cached = bookService.findById(id);
+
+        assertThat(cached).isEqualTo(book);
+        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deve consultar o banco novamente após atualizar ou excluir o livro")
+    public void evictCacheOnWriteTest() throws Exception {
+        Long id = (Long) 1L;
+        BookRequest bookRequest = new BookRequest("As Aventuras de PI V2", "Fulano", "123");
+        BookEntity book = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.of(book));
+        Mockito.when(iBookRepository.updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn())).thenReturn(1);
+        Mockito.when(iBookRepository.deleteBookById(id)).thenReturn(1);
+
+        bookService.findById(id);
+        bookService.update(id, bookRequest);
+        bookService.findById(id);
+        bookService.delete(id);
+        bookService.findById(id);
+
+        Mockito.verify(iBookRepository, Mockito.times(3)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deve guardar em cache os IDs inexistentes quando o cache negativo estiver ativo")
+    public void negativeCacheTest() throws Exception {
+        Long id = (Long) 2L;
+        Mockito.when(iBookRepository.findById(id)).thenReturn(Optional.empty());
+
+        Throwable first = Assertions.catchThrowable(() -> bookService.findById(id));
+        Throwable second = Assertions.catchThrowable(() -> bookService.findById(id));
+
+        assertThat(first).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
+        assertThat(second).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.LIVRO_NAO_ENCONTRADO.toString());
+        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deve atualizar o livro somente na versão informada")
+    public void updateBookIfVersionTest() throws Exception {
+        Long id = (Long) 1L;
+        BookRequest bookRequest = new BookRequest("As Aventuras de PI V2", "Fulano", "123");
+        Mockito.when(iBookRepository.updateBookIfVersion(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn(), 3L)).thenReturn(1);
+
+        BookEntity result = bookService.update(id, bookRequest, 3L);
+
+        assertThat(result.getId()).isEqualTo(id);
+        assertThat(result.getVersion()).isEqualTo(4L);
+        Mockito.verify(iBookRepository, Mockito.never()).existsById(id);
+        Mockito.verify(iBookRepository, Mockito.never()).updateBook(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn());
+    }
+
+    @Test
+    @DisplayName("Deve lançar erro de versão desatualizada quando o livro existir em outra versão")
+    public void updateBookStaleVersionTest() throws Exception {
+        Long id = (Long) 1L;
+        BookRequest bookRequest = new BookRequest("As Aventuras de PI V2", "Fulano", "123");
+        Mockito.when(iBookRepository.updateBookIfVersion(id, bookRequest.title(), bookRequest.author(), bookRequest.isbn(), 3L)).thenReturn(0);
+        Mockito.when(iBookRepository.existsById(id)).thenReturn(true);
+
+        Throwable throwable = Assertions.catchThrowable(() -> bookService.update(id, bookRequest, 3L));
+
+        assertThat(throwable).isInstanceOf(BusinessExcetion.class).hasMessage(ErrosEnum.VERSAO_DESATUALIZADA.toString());
+    }
+    @Test
+    @DisplayName("Deve buscar vários livros na ordem pedida usando o cache e uma única consulta para o restante")
+    public void findAllByIdTest() throws Exception {
+        BookEntity first = BookEntity.builder().id(1L).isbn("1").title("Livro 1").author("Fulano").build();
+        BookEntity second = BookEntity.builder().id(2L).isbn("2").title("Livro 2").author("Fulano").build();
+        BookEntity third = BookEntity.builder().id(3L).isbn("3").title("Livro 3").author("Fulano").build();
+        Mockito.when(iBookRepository.findById(2L)).thenReturn(Optional.of(second));
+        bookService.findById(2L);
+        Mockito.when(iBookRepository.findAllById(Arrays.asList(3L, 9L, 1L))).thenReturn(Arrays.asList(first, third));
+
+        BookBatch batch = bookService.findAllById(Arrays.asList(3L, 2L, 9L, 1L, 3L));
+
+        assertThat(batch.books()).containsExactly(third, second, first);
+        assertThat(batch.missing()).containsExactly(9L);
+        Mockito.verify(iBookRepository, Mockito.times(1)).findAllById(Arrays.asList(3L, 9L, 1L));
+
+        BookBatch cached = bookService.findAllById(Arrays.asList(1L, 9L));
+
+        assertThat(cached.books()).containsExactly(first);
+        assertThat(cached.missing()).containsExactly(9L);
+        Mockito.verify(iBookRepository, Mockito.times(1)).findAllById(Mockito.anyIterable());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única consulta quando vários pedidos do mesmo livro chegam juntos")
+    public void concurrentFindByIdSingleLoadTest() throws Exception {
+        Long id = (Long) 5L;
+        BookEntity book = BookEntity.builder().id(id).isbn("123").title("As Aventuras de PI").author("Fulano").build();
+        CountDownLatch started = new CountDownLatch(CONCURRENT_CALLERS);
+        Mockito.when(iBookRepository.findById(id)).thenAnswer(invocation -> slowly(started, Optional.of(book)));
+
+        List<Object> results = runConcurrently(started, () -> bookService.findById(id));
+
+        assertThat(results).hasSize(CONCURRENT_CALLERS).allMatch(book::equals);
+        Mockito.verify(iBookRepository, Mockito.times(1)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Deve carregar livros distintos em paralelo em virtual threads, sem prender as threads portadoras")
+    public void concurrentMissesOnVirtualThreadsTest() throws Exception {
+        int callers = Runtime.getRuntime().availableProcessors() * 4;
+        CountDownLatch loading = new CountDownLatch(callers);
+        Mockito.when(iBookRepository.findById(Mockito.anyLong())).thenAnswer(invocation -> {
+            Long id = invocation.getArgument(0);
+            loading.countDown();
+            // Com a carga dentro do compute do mapa, as virtual threads presas ao monitor esgotariam as portadoras
+            loading.await(5, TimeUnit.SECONDS);
+            return Optional.of(BookEntity.builder().id(id).isbn(String.valueOf(id)).title("Livro " + id).author("Fulano").build());
+        });
+
+        List<Future<BookEntity>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (long id = 1; id <= callers; id++) {
+                Long bookId = id;
+                futures.add(executor.submit(() -> bookService.findById(bookId)));
+            }
+        }
+
+        assertThat(loading.getCount()).isZero();
+        for (int i = 0; i < callers; i++) {
+            assertThat(futures.get(i).get().getId()).isEqualTo(i + 1L);
+        }
+        assertThat(bookService.findById(1L).getTitle()).isEqualTo("Livro 1");
+        Mockito.verify(iBookRepository, Mockito.times(callers)).findById(Mockito.anyLong());
+    }
+
+    @Test
+    @DisplayName("Deve executar uma única busca quando vários pedidos com o mesmo filtro chegam juntos")
+    public void concurrentSearchSingleFlightTest() throws Exception {
+        Page<BookDTO> page = new PageImpl<>(List.of(new BookDTO(1L, "As Aventuras de PI", "Fulano", "123")), PageRequest.of(0, 10), 1);
+        CountDownLatch started = new CountDownLatch(CONCURRENT_CALLERS);
+        Mockito.when(iBookRepository.findPage(Mockito.any(Example.class), Mockito.any(PageRequest.class)))
+                .thenAnswer(invocation -> slowly(started, page));
+
+        List<Object> results = runConcurrently(started,
+                () -> bookService.search(new BookRequest("aventuras", null, null), PageRequest.of(0, 10)));
+
+        assertThat(results).hasSize(CONCURRENT_CALLERS).allMatch(page::equals);
+        Mockito.verify(iBookRepository, Mockito.times(1)).findPage(Mockito.any(Example.class), Mockito.any(PageRequest.class));
+    }
+
+    @Test
+    @DisplayName("Não deve devolver ao cache um livro lido antes de uma atualização concorrente")
+    public void evictDuringLoadTest() throws Exception {
+        Long id = (Long) 6L;
+        BookEntity stale = BookEntity.builder().id(id).isbn("123").title("Título antigo").author("Fulano").build();
+        BookEntity fresh = BookEntity.builder().id(id).isbn("123").title("Título novo").author("Fulano").build();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch updated = new CountDownLatch(1);
+        Mockito.when(iBookRepository.findById(id))
+                .thenAnswer(invocation -> {
+                    loading.countDown();
+                    updated.await();
+                    return Optional.of(stale);
+                })
+                .thenReturn(Optional.of(fresh));
+        Mockito.when(iBookRepository.updateBook(id, fresh.getTitle(), fresh.getAuthor(), fresh.getIsbn())).thenReturn(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<BookEntity> reader = executor.submit(() -> bookService.findById(id));
+            loading.await();
+            Future<BookEntity> writer = executor.submit(() -> bookService.update(id, new BookRequest(fresh.getTitle(), fresh.getAuthor(), fresh.getIsbn())));
+            Thread.sleep(100);
+            updated.countDown();
+            assertThat(reader.get().getTitle()).isEqualTo("Título antigo");
+            writer.get();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(bookService.findById(id).getTitle()).isEqualTo("Título novo");
+        Mockito.verify(iBookRepository, Mockito.times(2)).findById(id);
+    }
+
+    @Test
+    @DisplayName("Não deve gravar no cache o resultado de um lote carregado antes de uma invalidação")
+    public void evictDuringBatchLoadTest() throws Exception {
+        BookEntity stale = BookEntity.builder().id(7L).isbn("123").title("Título antigo").author("Fulano").build();
+        BookEntity fresh = BookEntity.builder().id(7L).isbn("123").title("Título novo").author("Fulano").build();
+        Mockito.when(iBookRepository.updateBook(7L, fresh.getTitle(), fresh.getAuthor(), fresh.getIsbn())).thenReturn(1);
+        Mockito.when(iBookRepository.findAllById(List.of(7L)))
+                .thenAnswer(invocation -> {
+                    bookService.update(7L, new BookRequest(fresh.getTitle(), fresh.getAuthor(), fresh.getIsbn()));
+                    return List.of(stale);
+                })
+                .thenReturn(List.of(fresh));
+
+        assertThat(bookService.findAllById(List.of(7L)).books()).containsExactly(stale);
+        assertThat(bookService.findAllById(List.of(7L)).books()).containsExactly(fresh);
+        Mockito.verify(iBookRepository, Mockito.times(2)).findAllById(List.of(7L));
+    }
+
+    static final int CONCURRENT_CALLERS = 16;
+
+    /**
+     * Segura a consulta até todos os chamadores terem entrado no serviço.
+     */
+    static <T> T slowly(CountDownLatch started, T result) throws InterruptedException {
+        started.await();
+        Thread.sleep(200);
+        return result;
+    }
+
+    static List<Object> runConcurrently(CountDownLatch started, Callable<Object> call) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_CALLERS);
+        try {
+            List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_CALLERS; i++) {
+                futures.add(executor.submit(() -> {
+                    started.countDown();
+                    return call.call();
+                }));
+            }
+            List<Object> results = new ArrayList<>();
+            for (Future<Object> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.wiriswernek.library_api.service;
+
+import io.github.wiriswernek.library_api.model.dto.BookDTO;
+import io.github.wiriswernek.library_api.model.record.BookRequest;
+import io.github.wiriswernek.library_api.model.repository.IBookRepository;
+import io.github.wiriswernek.library_api.service.imp.TrigramBookSearchEngine;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TrigramBookSearchEngineTest {
+
+    private static final BookRequest FILTER = new BookRequest("aventuras", null, null);
+
+    private IBookRepository bookRepository;
+
+    private TrigramBookSearchEngine searchEngine;
+
+    @BeforeEach
+    public void setUp() {
+        bookRepository = Mockito.mock(IBookRepository.class);
+        searchEngine = new TrigramBookSearchEngine(bookRepository);
+    }
+
+    private static List<BookDTO> books(int count) {
+        return LongStream.rangeClosed(1, count)
+                .mapToObj(id -> new BookDTO(id, "As Aventuras " + id, "Fulano", String.valueOf(id)))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Deve buscar a página pelo deslocamento e contar o total só quando ela vier cheia")
+    public void searchPageTest() {
+        Sort sort = Sort.by("title");
+        Mockito.when(bookRepository.searchRanked(FILTER, 20, 10, sort)).thenReturn(books(10));
+        Mockito.when(bookRepository.searchRanked(FILTER, 0, 10, sort)).thenReturn(books(3));
+        Mockito.when(bookRepository.countRanked(FILTER)).thenReturn(42L);
+
+        Page<BookDTO> full = searchEngine.search(FILTER, PageRequest.of(2, 10, sort));
+        Page<BookDTO> partial = searchEngine.search(FILTER, PageRequest.of(0, 10, sort));
+
+        assertThat(full.getTotalElements()).isEqualTo(42L);
+        assertThat(partial.getTotalElements()).isEqualTo(3L);
+        Mockito.verify(bookRepository, Mockito.times(1)).countRanked(FILTER);
+    }
+
+    @Test
+    @DisplayName("Deve buscar um livro a mais para saber se há próxima fatia, sem contar o total")
+    public void searchSliceTest() {
+        Mockito.when(bookRepository.searchRanked(FILTER, 0, 3, Sort.unsorted())).thenReturn(books(3));
+        Mockito.when(bookRepository.searchRanked(FILTER, 2, 3, Sort.unsorted())).thenReturn(books(1));
+
+        Slice<BookDTO> first = searchEngine.searchSlice(FILTER, PageRequest.of(0, 2));
+        Slice<BookDTO> last = searchEngine.searchSlice(FILTER, PageRequest.of(1, 2));
+
+        assertThat(first.getContent()).hasSize(2);
+        assertThat(first.hasNext()).isTrue();
+        assertThat(last.getContent()).hasSize(1);
+        assertThat(last.hasNext()).isFalse();
+        Mockito.verify(bookRepository, Mockito.never()).countRanked(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve devolver todos os resultados numa única página quando a busca não for paginada")
+    public void unpagedTest() {
+        Mockito.when(bookRepository.searchRanked(FILTER, 0, Integer.MAX_VALUE, Sort.unsorted())).thenReturn(books(4));
+
+        Page<BookDTO> page = searchEngine.search(FILTER, Pageable.unpaged());
+
+        assertThat(page.getContent()).hasSize(4);
+        assertThat(page.getTotalElements()).isEqualTo(4L);
+        Mockito.verify(bookRepository, Mockito.never()).countRanked(Mockito.any());
+    }
+
+    @Test
+    @DisplayName("Deve contar fora do cache de consultas para o recálculo dos totais aproximados")
+    public void countTest() {
+        Mockito.when(bookRepository.countMatching(FILTER)).thenReturn(7L);
+
+        assertThat(searchEngine.count(FILTER)).isEqualTo(7L);
+        Mockito.verify(bookRepository, Mockito.never()).countRanked(Mockito.any());
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.wiriswernek.library_api.utils;
+
+import io.github.wiriswernek.library_api.exceptions.BusinessExcetion;
+import io.github.wiriswernek.library_api.exceptions.ErrosEnum;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SingleFlightTest {
+
+    @Test
+    @DisplayName("Deve liberar a chave após uma falha para que a próxima chamada execute de novo")
+    public void releaseKeyOnFailureTest() {
+        SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        Throwable failure = Assertions.catchThrowable(() -> singleFlight.execute(1L, () -> {
+            calls.incrementAndGet();
+            throw new BusinessExcetion(ErrosEnum.LIVRO_NAO_ENCONTRADO);
+        }));
+        String value = singleFlight.execute(1L, () -> "livro-" + calls.incrementAndGet());
+
+        assertThat(failure).isInstanceOf(BusinessExcetion.class);
+        assertThat(value).isEqualTo("livro-2");
+    }
+}
@@ -0,0 +1,7 @@
+-- H2 só roda nos testes, por isso as migrações dele ficam em src/test/resources. O default da coluna
+-- satisfaz o NOT NULL, verificado pelo H2 antes das triggers; quem grava a posição de fato é a
+-- H2BookChangeTrigger criada na V9, equivalente às triggers do PostgreSQL.
+UPDATE book SET change_seq = NEXT VALUE FOR book_change_seq WHERE change_seq IS NULL;
+
+ALTER TABLE book ALTER COLUMN change_seq SET DEFAULT NEXT VALUE FOR book_change_seq;
+ALTER TABLE book ALTER COLUMN change_seq SET NOT NULL;
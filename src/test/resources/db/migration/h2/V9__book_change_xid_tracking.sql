@@ -0,0 +1,6 @@
+-- Triggers Java equivalentes a track_book_change e track_book_delete do PostgreSQL (V7 e V9 em
+-- db/migration/postgresql): inclusões e atualizações recebem nova posição e exclusões deixam lápide.
+CREATE TRIGGER book_track_change BEFORE INSERT, UPDATE ON book
+    FOR EACH ROW CALL 'io.github.wiriswernek.library_api.repository.H2BookChangeTrigger';
+CREATE TRIGGER book_track_delete AFTER DELETE ON book
+    FOR EACH ROW CALL 'io.github.wiriswernek.library_api.repository.H2BookChangeTrigger';